@@ -0,0 +1,173 @@
+package org.xbib.standardnumber;
+
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Generator for reproducible benchmark corpora of standard numbers.
+ *
+ * A corpus mixes valid numbers in the notations found in catalog records and
+ * invalid numbers with a single mistyped or transposed character, the most common
+ * errors in manually entered data.
+ */
+public final class Corpus {
+
+    private static final String HEX = "0123456789ABCDEF";
+
+    private static final String CHECK = "0123456789XABCDEFGHIJKLMNOPQRSTUVWYZ";
+
+    private final Random random;
+
+    private final double invalidRatio;
+
+    public Corpus(long seed, double invalidRatio) {
+        this.random = new Random(seed);
+        this.invalidRatio = invalidRatio;
+    }
+
+    /**
+     * Create a corpus for a standard number type.
+     *
+     * @param type the standard number type
+     * @param size the number of entries
+     * @return the corpus
+     * @throws NoSuchStandardNumberException if the type is not supported
+     */
+    public String[] of(String type, int size) throws NoSuchStandardNumberException {
+        String[] corpus = new String[size];
+        for (int i = 0; i < size; i++) {
+            String s = next(type);
+            corpus[i] = random.nextDouble() < invalidRatio ? corrupt(s) : s;
+        }
+        return corpus;
+    }
+
+    /**
+     * Create a corpus of check digit encoded strings.
+     *
+     * @param length the number of data digits
+     * @param size the number of entries
+     * @param verifier the check digit verifier
+     * @return the corpus
+     */
+    public String[] ofDigits(int length, int size, Predicate<String> verifier) {
+        String[] corpus = new String[size];
+        for (int i = 0; i < size; i++) {
+            String s = withCheck(digits(length), verifier);
+            corpus[i] = random.nextDouble() < invalidRatio ? corrupt(s) : s;
+        }
+        return corpus;
+    }
+
+    private String next(String type) throws NoSuchStandardNumberException {
+        switch (type) {
+            case "isbn": {
+                if (random.nextBoolean()) {
+                    String s = withCheck(digits(9), valid(type));
+                    return "ISBN " + s.charAt(0) + "-" + s.substring(1, 5) + "-" + s.substring(5, 9) + "-" + s.charAt(9);
+                }
+                String s = withCheck((random.nextInt(4) == 0 ? "979" : "978") + digits(9), valid(type));
+                return random.nextBoolean() ? s : s.substring(0, 3) + "-" + s.substring(3, 4) + "-"
+                        + s.substring(4, 8) + "-" + s.substring(8, 12) + "-" + s.charAt(12);
+            }
+            case "issn": {
+                String s = withCheck(digits(7), valid(type));
+                return random.nextBoolean() ? "ISSN " + s.substring(0, 4) + "-" + s.substring(4) : s;
+            }
+            case "gtin":
+                return withCheck(digits(random.nextBoolean() ? 12 : 13), valid(type));
+            case "iban": {
+                String bban = random.nextBoolean() ? digits(18) : letters(4) + digits(14);
+                String country = bban.charAt(0) > '9' ? "GB" : "DE";
+                Predicate<String> valid = valid(type);
+                String s = null;
+                for (int c = 2; c < 100 && s == null; c++) {
+                    String candidate = country + (c < 10 ? "0" : "") + c + bban;
+                    if (valid.test(candidate)) {
+                        s = candidate;
+                    }
+                }
+                return random.nextBoolean() ? s : s.replaceAll("(.{4})", "$1 ").trim();
+            }
+            case "doi":
+                return (random.nextBoolean() ? "https://doi.org/" : "") + "10." + (1000 + random.nextInt(9000))
+                        + "/" + letters(4).toLowerCase() + "." + random.nextInt(100000);
+            case "isni":
+            case "orcid": {
+                String s = withCheck("0000000" + digits(8), valid(type));
+                return s.substring(0, 4) + "-" + s.substring(4, 8) + "-" + s.substring(8, 12) + "-" + s.substring(12);
+            }
+            case "isan": {
+                String s = withCheck(hex(12) + "0000", valid(type));
+                return "ISAN " + s.substring(0, 4) + "-" + s.substring(4, 8) + "-" + s.substring(8, 12) + "-"
+                        + s.substring(12, 16) + "-" + s.substring(16);
+            }
+            default:
+                throw new NoSuchStandardNumberException(type);
+        }
+    }
+
+    private static Predicate<String> valid(String type) throws NoSuchStandardNumberException {
+        StandardNumber standardNumber = StandardNumber.getInstance(type);
+        return s -> {
+            standardNumber.reset();
+            return standardNumber.set(s).normalize().isValid();
+        };
+    }
+
+    private static String withCheck(String s, Predicate<String> valid) {
+        for (int i = 0; i < CHECK.length(); i++) {
+            if (valid.test(s + CHECK.charAt(i))) {
+                return s + CHECK.charAt(i);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            String t = s + (i < 10 ? "0" : "") + i;
+            if (valid.test(t)) {
+                return t;
+            }
+        }
+        throw new IllegalStateException("no check character for " + s);
+    }
+
+    private String corrupt(String s) {
+        char[] chars = s.toCharArray();
+        int i;
+        do {
+            i = random.nextInt(chars.length);
+        } while (!Character.isDigit(chars[i]));
+        if (random.nextBoolean() && i + 1 < chars.length && Character.isDigit(chars[i + 1])
+                && chars[i] != chars[i + 1]) {
+            char ch = chars[i];
+            chars[i] = chars[i + 1];
+            chars[i + 1] = ch;
+        } else {
+            chars[i] = (char) ('0' + (chars[i] - '0' + 1 + random.nextInt(9)) % 10);
+        }
+        return new String(chars);
+    }
+
+    private String digits(int n) {
+        StringBuilder sb = new StringBuilder(n);
+        for (int i = 0; i < n; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private String letters(int n) {
+        StringBuilder sb = new StringBuilder(n);
+        for (int i = 0; i < n; i++) {
+            sb.append((char) ('A' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    private String hex(int n) {
+        StringBuilder sb = new StringBuilder(n);
+        for (int i = 0; i < n; i++) {
+            sb.append(HEX.charAt(random.nextInt(16)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package org.xbib.standardnumber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of normalizing, verifying and formatting standard numbers, as in ingestion of catalog records.
+ *
+ * Every operation creates a new instance from the registry and processes the next entry
+ * of a corpus of valid and invalid numbers. Run with {@code -prof gc} for the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StandardNumberBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"isbn", "issn", "iban", "gtin", "doi", "isni", "orcid", "isan"})
+    public String type;
+
+    @Param({"0.2"})
+    public double invalidRatio;
+
+    private String[] corpus;
+
+    private StandardNumber[] normalized;
+
+    private int index;
+
+    @Setup
+    public void setup() throws NoSuchStandardNumberException {
+        corpus = new Corpus(42L, invalidRatio).of(type, SIZE);
+        List<StandardNumber> list = new ArrayList<>();
+        for (String s : corpus) {
+            StandardNumber standardNumber = StandardNumber.getInstance(type).set(s).normalize();
+            if (standardNumber.isValid()) {
+                list.add(standardNumber);
+            }
+        }
+        normalized = list.toArray(new StandardNumber[0]);
+    }
+
+    @Benchmark
+    public String normalize() throws NoSuchStandardNumberException {
+        return StandardNumber.getInstance(type).set(next()).normalize().normalizedValue();
+    }
+
+    @Benchmark
+    public boolean verify() throws NoSuchStandardNumberException {
+        try {
+            StandardNumber.getInstance(type).set(next()).normalize().verify();
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public ValidationResult verifyResult() throws NoSuchStandardNumberException {
+        return StandardNumber.getInstance(type).set(next()).normalize().verifyResult();
+    }
+
+    @Benchmark
+    public List<String> detect() {
+        return StandardNumbers.detect(next());
+    }
+
+    @Benchmark
+    public String format() {
+        index = (index + 1) % normalized.length;
+        return normalized[index].format();
+    }
+
+    private String next() {
+        index = (index + 1) & (SIZE - 1);
+        return corpus[index];
+    }
+}
@@ -0,0 +1,101 @@
+package org.xbib.standardnumber.checksum;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xbib.standardnumber.Corpus;
+import org.xbib.standardnumber.checksum.iso7064.ISO7064;
+import org.xbib.standardnumber.checksum.iso7064.MOD1110;
+import org.xbib.standardnumber.checksum.iso7064.MOD112;
+import org.xbib.standardnumber.checksum.iso7064.MOD3736;
+import org.xbib.standardnumber.checksum.iso7064.MOD9710;
+
+/**
+ * Throughput of the check digit algorithms over a corpus of valid and invalid encoded digit strings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChecksumBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"LuhnMOD10", "DihedralGroup", "MOD112", "MOD1110", "MOD3736", "MOD9710",
+            "ISO7064_MOD_11_2", "ISO7064_MOD_37_36", "ISO7064_MOD_97_10"})
+    public String algorithm;
+
+    @Param({"16"})
+    public int length;
+
+    @Param({"0.2"})
+    public double invalidRatio;
+
+    private Digit digit;
+
+    private String[] corpus;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        switch (algorithm) {
+            case "LuhnMOD10":
+                digit = new LuhnMOD10();
+                break;
+            case "DihedralGroup":
+                digit = new DihedralGroup();
+                break;
+            case "MOD112":
+                digit = new MOD112();
+                break;
+            case "MOD1110":
+                digit = new MOD1110();
+                break;
+            case "MOD3736":
+                digit = new MOD3736();
+                break;
+            case "MOD9710":
+                digit = new MOD9710();
+                break;
+            case "ISO7064_MOD_11_2":
+                digit = ISO7064.MOD_11_2;
+                break;
+            case "ISO7064_MOD_37_36":
+                digit = ISO7064.MOD_37_36;
+                break;
+            case "ISO7064_MOD_97_10":
+                digit = ISO7064.MOD_97_10;
+                break;
+            default:
+                throw new IllegalArgumentException(algorithm);
+        }
+        corpus = new Corpus(42L, invalidRatio).ofDigits(length, SIZE, digit::verify);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return digit.verify(next());
+    }
+
+    @Benchmark
+    public int compute() {
+        return digit.compute(next());
+    }
+
+    private String next() {
+        index = (index + 1) & (SIZE - 1);
+        return corpus[index];
+    }
+}
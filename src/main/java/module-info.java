@@ -2,5 +2,7 @@ module org.xbib.standardnumber {
     exports org.xbib.standardnumber;
     exports org.xbib.standardnumber.checksum;
     exports org.xbib.standardnumber.checksum.iso7064;
-    requires java.xml; // for reading ISBN config file
+    exports org.xbib.standardnumber.collection;
+    requires static java.xml; // for reading the ISBN range message if the binary range table is missing
+    uses org.xbib.standardnumber.StandardNumberProvider;
 }
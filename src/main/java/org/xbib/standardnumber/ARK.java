@@ -72,6 +72,50 @@ public class ARK extends StandardNumber implements Cloneable, Comparable<ARK> {
         return uri != null && "ark".equals(uri.getScheme());
     }
 
+    /**
+     * Check a range of characters for a valid ARK without creating any objects.
+     * The range must contain the ARK URI only, starting with the {@code ark:} scheme.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 5 || value.charAt(start) != 'a' || value.charAt(start + 1) != 'r'
+                || value.charAt(start + 2) != 'k' || value.charAt(start + 3) != ':') {
+            return false;
+        }
+        boolean fragment = false;
+        for (int i = start + 4; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch <= ' ' || ch > '~' || "\"<>[\\]^`{|}".indexOf(ch) >= 0) {
+                return false;
+            }
+            if (ch == '#') {
+                if (fragment) {
+                    return false;
+                }
+                fragment = true;
+            }
+            if (ch == '%' && (i + 2 >= end || Character.digit(value.charAt(i + 1), 16) < 0
+                    || Character.digit(value.charAt(i + 2), 16) < 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ValidationResult verifyResult() {
+        if (uri == null || !"ark".equals(uri.getScheme())) {
+            return ValidationResult.MALFORMED;
+        }
+        return ValidationResult.VALID;
+    }
+
     /**
      * No verification.
      *
@@ -79,9 +123,7 @@ public class ARK extends StandardNumber implements Cloneable, Comparable<ARK> {
      */
     @Override
     public ARK verify() {
-        if (uri == null || !"ark".equals(uri.getScheme())) {
-            throw new NumberFormatException();
-        }
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -0,0 +1,192 @@
+package org.xbib.standardnumber;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for validating standard numbers in ASCII bytes, eight bytes at a time.
+ *
+ * The bytes are read as little-endian longs through a byte array view, so the first byte is in the lowest
+ * byte of a long. All bytes of a long are checked for digits at once, and the digits are summed in
+ * 16-bit lanes by multiplying with constants, which accumulates all lanes in the highest lane.
+ * A value has 8 to 16 bytes, which are read as a long for the first eight bytes and a long for
+ * the rest, which is shifted down so that it has no bytes in common with the first.
+ */
+final class AsciiDigits {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ZEROS = 0x3030303030303030L;
+
+    private static final long SIXES = 0x0606060606060606L;
+
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+
+    private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+
+    /**
+     * Multiplying 16-bit lanes with this sums the lanes into the highest lane.
+     */
+    private static final long LANE_SUM = 0x0001000100010001L;
+
+    /**
+     * Multiplying 16-bit lanes with this sums the lanes weighted with their index into the highest lane.
+     */
+    private static final long LANE_INDEX_SUM = 0x0000000100020003L;
+
+    private AsciiDigits() {
+    }
+
+    /**
+     * Return the GTIN checksum of 8 to 16 ASCII digits, with the weights 1 and 3 alternating from the right
+     * and the weight 1 for the check digit.
+     *
+     * @param value the bytes
+     * @param offset the offset of the digits
+     * @param length the number of digits, from 8 to 16
+     * @return the checksum, or -1 if a byte is not a digit
+     */
+    static int gtinChecksum(byte[] value, int offset, int length) {
+        long head = (long) LONGS.get(value, offset);
+        long tail = tail(value, offset, length);
+        long tailMask = mask(length - 8);
+        if (!isDigits(head, -1L) || !isDigits(tail, tailMask)) {
+            return -1;
+        }
+        long d0 = head - ZEROS;
+        long d1 = tail - (ZEROS & tailMask);
+        int even = laneSum((d0 & EVEN_BYTES) + (d1 & EVEN_BYTES));
+        int odd = laneSum(((d0 >>> 8) & EVEN_BYTES) + ((d1 >>> 8) & EVEN_BYTES));
+        // the check digit is at an even index if the length is odd
+        return (length & 1) == 1 ? even + 3 * odd : 3 * even + odd;
+    }
+
+    /**
+     * Return the MOD 11 checksum of 8 to 16 ASCII digits, with the weights n, n-1, ..., 1 from the left,
+     * where the check character may be {@code X} for 10, as used by ISBN-10 and ISSN.
+     *
+     * @param value the bytes
+     * @param offset the offset of the digits
+     * @param length the number of digits, from 8 to 16
+     * @return the checksum, or -1 if a byte is not a digit
+     */
+    static int mod11Checksum(byte[] value, int offset, int length) {
+        long head = (long) LONGS.get(value, offset);
+        long tail = tail(value, offset, length);
+        long tailMask = mask(length - 8);
+        int check = 0;
+        int last = value[offset + length - 1];
+        if (last == 'X' || last == 'x') {
+            // replace the check character by a zero digit and add its value separately
+            check = 10;
+            if (length == 8) {
+                head = head & 0x00FFFFFFFFFFFFFFL | 0x3000000000000000L;
+            } else {
+                int shift = 8 * (length - 9);
+                tail = tail & ~(0xFFL << shift) | (0x30L << shift);
+            }
+        }
+        if (!isDigits(head, -1L) || !isDigits(tail, tailMask)) {
+            return -1;
+        }
+        long d0 = head - ZEROS;
+        long d1 = tail - (ZEROS & tailMask);
+        int sum = digitSum(d0) + digitSum(d1) + check;
+        // the sum of the digits weighted with their index from the left
+        int indexSum = indexSum(d0) + indexSum(d1) + 8 * digitSum(d1) + (length - 1) * check;
+        return length * sum - indexSum;
+    }
+
+    /**
+     * Return a view of bytes as characters, for validating bytes that are not only digits with the
+     * validation of characters. A byte outside of ASCII is viewed as a character outside of ASCII,
+     * so the validation has the same result as for the UTF-8 decoded bytes.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the characters
+     */
+    static CharSequence view(byte[] value, int offset, int length) {
+        return new View(value, offset, length);
+    }
+
+    /**
+     * Return the bytes after the first eight bytes of a value in the lowest bytes of a long.
+     */
+    private static long tail(byte[] value, int offset, int length) {
+        return length > 8 ? (long) LONGS.get(value, offset + length - 8) >>> (8 * (16 - length)) : 0L;
+    }
+
+    /**
+     * Return a mask for the lowest n bytes of a long.
+     */
+    private static long mask(int n) {
+        return n >= 8 ? -1L : (1L << (8 * n)) - 1L;
+    }
+
+    /**
+     * Return true if all bytes under a mask are ASCII digits. The bytes must have the high nibble 3,
+     * and must not overflow into the next high nibble when 6 is added.
+     */
+    private static boolean isDigits(long bytes, long mask) {
+        long zeros = ZEROS & mask;
+        return (bytes & HIGH_NIBBLES & mask) == zeros && ((bytes + (SIXES & mask)) & HIGH_NIBBLES & mask) == zeros;
+    }
+
+    private static int laneSum(long lanes) {
+        return (int) ((lanes * LANE_SUM) >>> 48);
+    }
+
+    private static int digitSum(long digits) {
+        return laneSum((digits & EVEN_BYTES) + ((digits >>> 8) & EVEN_BYTES));
+    }
+
+    /**
+     * Return the sum of the digits of a long weighted with their byte index. Digit 2k+1 is in lane k
+     * of the odd digits, so the sum is twice the lane index sum of all digits plus the sum of the odd digits.
+     */
+    private static int indexSum(long digits) {
+        long even = digits & EVEN_BYTES;
+        long odd = (digits >>> 8) & EVEN_BYTES;
+        return 2 * (int) (((even + odd) * LANE_INDEX_SUM) >>> 48) + laneSum(odd);
+    }
+
+    private static final class View implements CharSequence {
+
+        private final byte[] value;
+
+        private final int offset;
+
+        private final int length;
+
+        View(byte[] value, int offset, int length) {
+            this.value = value;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (value[offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new View(value, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(value, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -45,7 +45,7 @@ import java.util.regex.Pattern;
 public class DOI extends StandardNumber implements Cloneable, Comparable<DOI> {
 
     private static final Pattern DOI_PATTERN =
-            Pattern.compile("\\b10\\.\\d{4}([.][0-9]+)*/[a-z0-9/\\-.()<>_:;\\\\]+\\b");
+            Pattern.compile("\\b10\\.\\d{4,}([.][0-9]+)*/[a-z0-9/\\-.()<>_:;\\\\]+\\b");
 
     private static final Pattern DOI_URI_PATTERN =
             Pattern.compile("\\b(https?)://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]\\b");
@@ -79,11 +79,71 @@ public class DOI extends StandardNumber implements Cloneable, Comparable<DOI> {
         return value != null;
     }
 
+    /**
+     * Check a range of characters for a valid DOI name without creating any objects.
+     * The range must contain the DOI name only, or a DOI name with a {@code doi.org} resolver prefix.
+     * Behind a resolver prefix, parentheses, angle brackets and backslashes are not accepted.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        int i = skipResolver(value, start, end);
+        // characters that end a resolver URI before the suffix is complete
+        String stop = i > start ? "()<>\\" : "";
+        if (i < 0 || !regionMatches(value, i, end, "10.")) {
+            return false;
+        }
+        // prefix: 10.NNNN(.NNNN)*/
+        i += 3;
+        int n = 0;
+        while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+            n++;
+        }
+        if (n < 4) {
+            return false;
+        }
+        while (i < end && value.charAt(i) == '.') {
+            n = ++i;
+            while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                i++;
+            }
+            if (i == n) {
+                return false;
+            }
+        }
+        if (i == end || value.charAt(i++) != '/') {
+            return false;
+        }
+        // suffix: must contain a word character to end on a word boundary
+        boolean word = false;
+        for (; i < end; i++) {
+            char ch = value.charAt(i);
+            if (isWordChar(ch)) {
+                word = true;
+            } else if ("/-.()<>:;\\".indexOf(ch) < 0 || stop.indexOf(ch) >= 0) {
+                return false;
+            }
+        }
+        return word;
+    }
+
     @Override
-    public DOI verify() {
+    public ValidationResult verifyResult() {
         if (value == null) {
-            throw new NumberFormatException();
+            return ValidationResult.MALFORMED;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public DOI verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -121,9 +181,11 @@ public class DOI extends StandardNumber implements Cloneable, Comparable<DOI> {
         Matcher m = DOI_URI_PATTERN.matcher(content);
         if (m.find()) {
             URI u = URI.create(content.substring(m.start(), m.end()));
-            if ("http".equals(u.getScheme()) && ("dx.doi.org".equals(u.getHost()) || "doi.org".equals(u.getHost()))) {
+            if (("http".equals(u.getScheme()) || "https".equals(u.getScheme()))
+                    && ("dx.doi.org".equals(u.getHost()) || "doi.org".equals(u.getHost()))) {
                 content = u.getRawPath();
             } else {
+                this.value = null;
                 return;
             }
         }
@@ -133,9 +195,42 @@ public class DOI extends StandardNumber implements Cloneable, Comparable<DOI> {
             this.infoURI = URI.create("info:doi:" + value);
             this.httpDoi = URI.create("http://doi.org/" + value);
             this.httpDxDoi = URI.create("http://dx.doi.org/" + value);
+        } else {
+            this.value = null;
         }
     }
 
+    private static int skipResolver(CharSequence value, int start, int end) {
+        int i = start;
+        if (regionMatches(value, i, end, "http://")) {
+            i += 7;
+        } else if (regionMatches(value, i, end, "https://")) {
+            i += 8;
+        } else {
+            return start;
+        }
+        if (regionMatches(value, i, end, "dx.")) {
+            i += 3;
+        }
+        return regionMatches(value, i, end, "doi.org/") ? i + 8 : -1;
+    }
+
+    private static boolean regionMatches(CharSequence value, int start, int end, String s) {
+        if (end - start < s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.toLowerCase(value.charAt(start + i)) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char ch) {
+        return ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z' || ch == '_';
+    }
+
     @Override
     public int compareTo(DOI doi) {
         return doi != null ? normalizedValue().compareTo(doi.normalizedValue()) : -1;
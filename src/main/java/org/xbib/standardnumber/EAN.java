@@ -2,6 +2,7 @@ package org.xbib.standardnumber;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,14 +48,112 @@ public class EAN extends StandardNumber implements Cloneable, Comparable<EAN> {
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid EAN without creating any objects.
+     * The range must contain the number only, spaces are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 13 || end - start > 18) {
+            return false;
+        }
+        int n = 0;
+        int checksum = 0;
+        int last = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == ' ') {
+                continue;
+            }
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+            last = ch - '0';
+            checksum += (n % 2 == 0 ? 1 : 3) * last;
+            n++;
+        }
+        // the check digit has weight 1
+        if (n % 2 == 0) {
+            checksum -= 2 * last;
+        }
+        return n > 0 && checksum % 10 == 0;
+    }
+
+    /**
+     * Check a range of bytes for an EAN, e.g. in UTF-8 input, without decoding the bytes.
+     * A number of digits only is checked eight bytes at a time.
+     * The result is the same as from {@link #isValid(CharSequence, int, int)} for the decoded bytes.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if valid, false otherwise
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static boolean isValid(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        if (length == 13) {
+            int checksum = AsciiDigits.gtinChecksum(value, offset, length);
+            if (checksum >= 0) {
+                return checksum % 10 == 0;
+            }
+        }
+        return isValid(AsciiDigits.view(value, offset, length), 0, length);
+    }
+
+    /**
+     * Pack an EAN into a long. The long is the EAN as a number, including the check digit,
+     * so packed EANs are ordered like their normalized values.
+     *
+     * @param value the value, the 13 digits without other characters, spaces are skipped
+     * @return the packed EAN
+     * @throws NumberFormatException if the value is not a valid EAN
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        if (PackedNumbers.count(value, 0, value.length()) != 13) {
+            throw ValidationResult.BAD_LENGTH.exception();
+        }
+        return PackedNumbers.digits(value, 0, value.length(), 13);
+    }
+
+    /**
+     * Unpack an EAN into its normalized form.
+     *
+     * @param packed the packed EAN
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed EAN
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        PackedNumbers.checkRange(packed, 0L, PackedNumbers.pow10(13), "EAN");
+        return PackedNumbers.append(out, packed, 13, (char) 0);
+    }
+
     @Override
-    public EAN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid value");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public EAN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -92,7 +191,7 @@ public class EAN extends StandardNumber implements Cloneable, Comparable<EAN> {
             weight = i % 2 == 0 ? 1 : 3;
             checksum += val * weight;
         }
-        int chk = 10 - checksum % 10;
+        int chk = (10 - checksum % 10) % 10;
         if (createWithChecksum) {
             char ch = (char) ('0' + chk);
             value = value.substring(0, l) + ch;
@@ -101,13 +200,7 @@ public class EAN extends StandardNumber implements Cloneable, Comparable<EAN> {
     }
 
     private String despace(String s) {
-        StringBuilder sb = new StringBuilder(s);
-        int i = sb.indexOf(" ");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf(" ");
-        }
-        return sb.toString();
+        return StandardNumberNormalizer.DEFAULT.normalize(s);
     }
 
     @Override
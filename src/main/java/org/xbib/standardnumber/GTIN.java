@@ -2,6 +2,7 @@ package org.xbib.standardnumber;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,14 +76,119 @@ public class GTIN extends StandardNumber implements Cloneable, Comparable<GTIN>
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid GTIN without creating any objects.
+     * The range must contain the number only, hyphens are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 3 || end - start > 18) {
+            return false;
+        }
+        int n = 0;
+        int even = 0;
+        int odd = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-') {
+                continue;
+            }
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+            if (n % 2 == 0) {
+                even += ch - '0';
+            } else {
+                odd += ch - '0';
+            }
+            n++;
+        }
+        // weights are 3 and 1, alternating from the right, the check digit has weight 1
+        return n > 1 && (n % 2 == 0 ? 3 * even + odd : even + 3 * odd) % 10 == 0;
+    }
+
+    /**
+     * Check a range of bytes for a GTIN, e.g. in UTF-8 input, without decoding the bytes.
+     * A number of digits only is checked eight bytes at a time.
+     * The result is the same as from {@link #isValid(CharSequence, int, int)} for the decoded bytes.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if valid, false otherwise
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static boolean isValid(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        if (length >= 8 && length <= 16) {
+            int checksum = AsciiDigits.gtinChecksum(value, offset, length);
+            if (checksum >= 0) {
+                return checksum % 10 == 0;
+            }
+        }
+        return isValid(AsciiDigits.view(value, offset, length), 0, length);
+    }
+
+    /**
+     * Pack a GTIN of up to 14 digits into a long. The number of digits is kept in the bits 48 to 51,
+     * the digits, including the check digit, as a number in the bits 0 to 47. Packed GTINs are ordered
+     * by their number of digits first, like {@link GTINValue}.
+     *
+     * @param value the value, the digits without other characters, hyphens are skipped
+     * @return the packed GTIN
+     * @throws NumberFormatException if the value is not a valid GTIN of up to 14 digits
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        int n = PackedNumbers.count(value, 0, value.length());
+        if (n > 14) {
+            throw ValidationResult.BAD_LENGTH.exception();
+        }
+        return (long) n << 48 | PackedNumbers.digits(value, 0, value.length(), n);
+    }
+
+    /**
+     * Unpack a GTIN into its normalized form, with leading zeros.
+     *
+     * @param packed the packed GTIN
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed GTIN
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        int n = (int) (packed >>> 48);
+        long digits = packed & 0xffffffffffffL;
+        if (n < 2 || n > 14) {
+            throw new IllegalArgumentException("not a packed GTIN: " + packed);
+        }
+        PackedNumbers.checkRange(digits, 0L, PackedNumbers.pow10(n), "GTIN");
+        return PackedNumbers.append(out, digits, n, (char) 0);
+    }
+
     @Override
-    public GTIN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid value");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public GTIN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -117,10 +223,10 @@ public class GTIN extends StandardNumber implements Cloneable, Comparable<GTIN>
         int val;
         for (int i = 0; i < l; i++) {
             val = value.charAt(i) - '0';
-            weight = i % 2 == 0 ? 1 : 3;
+            weight = (l - i) % 2 == 0 ? 1 : 3;
             checksum += val * weight;
         }
-        int chk = 10 - checksum % 10;
+        int chk = (10 - checksum % 10) % 10;
         if (createWithChecksum) {
             char ch = (char) ('0' + chk);
             value = value.substring(0, l) + ch;
@@ -129,13 +235,7 @@ public class GTIN extends StandardNumber implements Cloneable, Comparable<GTIN>
     }
 
     private String dehyphenate(String isbn) {
-        StringBuilder sb = new StringBuilder(isbn);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        return sb.toString();
+        return StandardNumberNormalizer.DEFAULT.normalize(isbn);
     }
 
     @Override
@@ -0,0 +1,28 @@
+package org.xbib.standardnumber;
+
+/**
+ * A kernel for verifying the GTIN check digits of a batch of codes.
+ *
+ * This version verifies no codes, so all codes are verified by the scalar loop of
+ * {@link StandardNumbers#verifyGTIN(byte[], int, java.util.BitSet)}. The multi-release jar contains
+ * a version for Java 17 and later which uses the Vector API if the module {@code jdk.incubator.vector}
+ * is present.
+ */
+final class GTINChecksums {
+
+    private GTINChecksums() {
+    }
+
+    /**
+     * Verify the codes at the start of a batch.
+     *
+     * @param codes the codes, ASCII digits of a fixed width, one after the other
+     * @param count the number of codes
+     * @param width the width of a code
+     * @param words the valid flags, bit i is set if code i is valid
+     * @return the number of codes that were verified
+     */
+    static int verify(byte[] codes, int count, int width, long[] words) {
+        return 0;
+    }
+}
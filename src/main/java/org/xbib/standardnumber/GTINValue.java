@@ -0,0 +1,119 @@
+package org.xbib.standardnumber;
+
+/**
+ * An immutable, parsed Global Trade Item Number.
+ *
+ * The value holds the digits of the GTIN, including the check digit, in a long, together with
+ * the number of digits, so leading zeros are kept. Instances are safe to share between threads
+ * and to use as map keys.
+ *
+ * Use {@link GTIN} for repairing check digits or for lenient extraction from free text.
+ */
+public final class GTINValue implements Comparable<GTINValue> {
+
+    private final long value;
+
+    private final int length;
+
+    private GTINValue(long value, int length) {
+        this.value = value;
+        this.length = length;
+    }
+
+    /**
+     * Parse a GTIN. The value must contain the number only, hyphens are skipped.
+     *
+     * @param value the value
+     * @return the parsed GTIN
+     * @throws NumberFormatException if the value is not a valid GTIN
+     */
+    public static GTINValue parse(CharSequence value) {
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * Parse a GTIN from a range of characters. The range must contain the number only, hyphens are skipped.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the parsed GTIN
+     * @throws NumberFormatException if the range does not contain a valid GTIN
+     */
+    public static GTINValue parse(CharSequence value, int start, int end) {
+        if (!GTIN.isValid(value, start, end)) {
+            throw ValidationResult.INVALID.exception();
+        }
+        long l = 0L;
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch != '-') {
+                l = l * 10 + (ch - '0');
+                n++;
+            }
+        }
+        return new GTINValue(l, n);
+    }
+
+    /**
+     * Create a GTIN from digits without the check digit.
+     *
+     * @param digits the digits without the check digit
+     * @param length the number of digits, including the check digit
+     * @return the GTIN with computed check digit
+     */
+    static GTINValue of(long digits, int length) {
+        int checksum = 0;
+        long l = digits;
+        for (int i = 0; i < length - 1; i++) {
+            checksum += (int) (l % 10) * (i % 2 == 0 ? 3 : 1);
+            l /= 10;
+        }
+        return new GTINValue(digits * 10 + (10 - checksum % 10) % 10, length);
+    }
+
+    /**
+     * Return the digits of the GTIN, including the check digit, as a long.
+     *
+     * @return the GTIN digits
+     */
+    public long toLong() {
+        return value;
+    }
+
+    /**
+     * Return the number of digits of the GTIN, including leading zeros and the check digit.
+     *
+     * @return the number of digits
+     */
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public int compareTo(GTINValue gtin) {
+        int c = Integer.compare(length, gtin.length);
+        return c != 0 ? c : Long.compare(value, gtin.value);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof GTINValue && value == ((GTINValue) object).value
+                && length == ((GTINValue) object).length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value) * 31 + length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length).append(value);
+        while (sb.length() < length) {
+            sb.insert(0, '0');
+        }
+        return sb.toString();
+    }
+}
@@ -24,7 +24,6 @@ public class IBAN extends StandardNumber implements Cloneable, Comparable<IBAN>
      * Norway = 15, Malta = 31 + "IBAN ".
      */
     private static final Pattern PATTERN = Pattern.compile("[\\p{Alnum}\\p{Pd}\\s]{15,36}");
-    private static final MOD9710 check = new MOD9710();
     /**
      * Known country codes, this list must be sorted to allow binary search.
      */
@@ -80,11 +79,14 @@ public class IBAN extends StandardNumber implements Cloneable, Comparable<IBAN>
         } else {
             this.value = null;
         }
-        if (value != null && createWithChecksum) {
-            int c = check.compute(value.substring(0, value.length() - 2));
-            String chk = String.format("%02d", c);
-            this.value = value + chk;
-            this.formatted = formatted.substring(0, 2) + chk + formatted.substring(4);
+        if (value != null && createWithChecksum && value.length() >= 4) {
+            // move first 4 characters to last, with check digits 00
+            int r = MOD9710.update(MOD9710.update(0, value, 4, value.length()), value, 0, 2);
+            if (r >= 0) {
+                int c = 98 - r * 100 % 97;
+                this.value = value.substring(0, 2) + (char) ('0' + c / 10) + (char) ('0' + c % 10) + value.substring(4);
+                this.formatted = value;
+            }
         }
         return this;
     }
@@ -94,18 +96,78 @@ public class IBAN extends StandardNumber implements Cloneable, Comparable<IBAN>
         return check();
     }
 
+    /**
+     * Check a range of characters for a valid IBAN without creating any objects.
+     * The range must contain the number only, hyphens and spaces are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 15 || end - start > 36) {
+            return false;
+        }
+        int n = 0;
+        int digits = 0;
+        int bban = end;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+            } else if (ch >= 'A' && ch <= 'Z') {
+                digits += 2;
+            } else {
+                return false;
+            }
+            if (n++ == 4) {
+                bban = i;
+            }
+        }
+        // move first 4 characters to last
+        return n >= 4 && digits >= 15 && mod97(value, start, bban, mod97(value, bban, end, 0)) == 1;
+    }
+
+    private static int mod97(CharSequence value, int start, int end, int remainder) {
+        int r = remainder;
+        int from = start;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                r = MOD9710.update(r, value, from, i);
+                from = i + 1;
+            }
+        }
+        return MOD9710.update(r, value, from, end);
+    }
+
     @Override
-    public IBAN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
+        }
+        int length = getLengthForCountryCode(country);
+        if (length < 0) {
+            return ValidationResult.UNKNOWN_COUNTRY;
         }
-        if (formatted.length() != getLengthForCountryCode(country)) {
-            throw new NumberFormatException("invalid length for country: "
-                    + formatted.length() + " " + formatted);
+        if (formatted.length() != length) {
+            return ValidationResult.BAD_LENGTH;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public IBAN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -136,35 +198,31 @@ public class IBAN extends StandardNumber implements Cloneable, Comparable<IBAN>
     }
 
     private boolean check() {
-        return value != null && value.length() >= 15 && check.verify(value);
-    }
-
-    private String parse(String raw) {
-        StringBuilder sb = new StringBuilder(raw);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
+        if (value == null || value.length() < 4) {
+            return false;
         }
-        i = sb.indexOf(" ");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf(" ");
+        // letters count as two digits
+        int digits = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 'A') {
+                digits++;
+            }
         }
-        this.formatted = sb.toString();
-        this.country = sb.substring(0, 2);
         // move first 4 characters to last
-        sb = new StringBuilder(sb.substring(4)).append(sb.substring(0, 4));
-        // replace characters with decimal values
-        for (i = 0; i < sb.length(); i++) {
-            char ch = sb.charAt(i);
-            if (ch >= 'A' && ch <= 'Z') {
-                sb.deleteCharAt(i);
-                String s = Integer.toString(ch - 'A' + 10);
-                sb.insert(i, s);
+        return digits >= 15 && MOD9710.update(MOD9710.update(0, value, 4, value.length()), value, 0, 4) == 1;
+    }
+
+    private String parse(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char ch = raw.charAt(i);
+            if (ch != '-' && ch != ' ') {
+                sb.append(ch);
             }
         }
-        return sb.toString();
+        this.formatted = sb.toString();
+        this.country = sb.length() >= 2 ? formatted.substring(0, 2) : formatted;
+        return formatted;
     }
 
     /**
@@ -174,7 +232,7 @@ public class IBAN extends StandardNumber implements Cloneable, Comparable<IBAN>
      * @return the IBAN length for the given country, or -1 if the input is not a known, two-character country code.
      * @throws NullPointerException if the input is null.
      */
-    private int getLengthForCountryCode(String countryCode) {
+    static int getLengthForCountryCode(String countryCode) {
         int index = Arrays.binarySearch(COUNTRY_CODES, countryCode);
         if (index > -1) {
             return COUNTRY_IBAN_LENGTHS[index];
@@ -1,6 +1,6 @@
 package org.xbib.standardnumber;
 
-import org.xbib.standardnumber.checksum.iso7064.MOD3736;
+import org.xbib.standardnumber.checksum.iso7064.ISO7064;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -38,7 +38,7 @@ class ISAN extends StandardNumber implements Cloneable, Comparable<ISAN> {
 
     private static final Pattern PATTERN = Pattern.compile("[\\p{Alnum}\\p{Pd}]{16,34}");
 
-    private static final MOD3736 check = new MOD3736();
+    private static final ISO7064 check = ISO7064.MOD_37_36;
 
     private String formatted;
 
@@ -73,14 +73,63 @@ class ISAN extends StandardNumber implements Cloneable, Comparable<ISAN> {
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid ISAN without creating any objects.
+     * The range must contain the number only, hyphens are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 16 || end - start > 34) {
+            return false;
+        }
+        int n = 0;
+        int chk1 = 18;
+        int chk2 = 18;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-') {
+                continue;
+            }
+            int val;
+            if (ch >= '0' && ch <= '9') {
+                val = ch - '0';
+            } else if (ch >= 'A' && ch <= 'Z') {
+                val = ch - 'A' + 10;
+            } else {
+                return false;
+            }
+            // MOD 37-36 over the root and over the root with the version
+            if (n < 17) {
+                chk1 = ((chk1 > 0 ? chk1 : 36) * 2 % 37 + val) % 36;
+            }
+            if (n < 16 || (n >= 17 && n < 26)) {
+                chk2 = ((chk2 > 0 ? chk2 : 36) * 2 % 37 + val) % 36;
+            }
+            n++;
+        }
+        return n > 17 ? n >= 26 && chk1 == 1 && chk2 == 1 : chk1 == 1;
+    }
+
     @Override
-    public ISAN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException();
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("invalid checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public ISAN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -116,56 +165,36 @@ class ISAN extends StandardNumber implements Cloneable, Comparable<ISAN> {
 
     private boolean check() {
         if (versioned) {
-            int chk1 = value.length() >= 17 ? check.compute(value.substring(0, 17)) : -1;
-            int chk2 = value.length() >= 26 ? check.compute(value.substring(0, 16) + value.substring(17, 26)) : -1;
-            if (chk1 != 1) {
-                return false;
-            }
-            if (chk2 != 1) {
-                return false;
-            }
-        } else {
-            int chk = check.compute(value);
-            if (chk != 1) {
-                return false;
-            }
+            // the version is checked with the root, without the check character of the root
+            return value.length() >= 26 && check.isValid(value, 0, 17)
+                    && check.update(check.update(check.initialState(), value, 0, 16), value, 17, 26) == 1;
         }
-        return true;
+        return check.verify(value);
     }
 
     private String clean(String value) {
-        StringBuilder sb = new StringBuilder(value);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        i = sb.indexOf(" ");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf(" ");
-        }
+        String s = StandardNumberNormalizer.DEFAULT.normalize(value);
         this.formatted = "ISAN "
-                + (sb.length() < 4 ? sb :
-                sb.substring(0, 4) + "-"
-                        + (sb.length() < 8 ? sb.substring(4) :
-                        sb.substring(4, 8) + "-"
-                                + (sb.length() < 12 ? sb.substring(8) :
-                                sb.substring(8, 12) + "-"
-                                        + (sb.length() < 16 ? sb.substring(12) :
-                                        sb.substring(12, 16) + "-"
-                                                + (sb.length() < 17 ? sb.substring(16) :
-                                                sb.substring(16, 17))))));
-        if (sb.length() > 17) {
+                + (s.length() < 4 ? s :
+                s.substring(0, 4) + "-"
+                        + (s.length() < 8 ? s.substring(4) :
+                        s.substring(4, 8) + "-"
+                                + (s.length() < 12 ? s.substring(8) :
+                                s.substring(8, 12) + "-"
+                                        + (s.length() < 16 ? s.substring(12) :
+                                        s.substring(12, 16) + "-"
+                                                + (s.length() < 17 ? s.substring(16) :
+                                                s.substring(16, 17))))));
+        if (s.length() > 17) {
             this.formatted = this.formatted + "-"
-                    + (sb.length() < 21 ? sb.substring(17) :
-                    (sb.substring(17, 21) + "-"
-                            + (sb.length() < 25 ? sb.substring(21) :
-                            (sb.substring(21, 25) + "-"
-                                    + (sb.length() < 26 ? sb.substring(25) :
-                                    sb.substring(25, 26))))));
+                    + (s.length() < 21 ? s.substring(17) :
+                    (s.substring(17, 21) + "-"
+                            + (s.length() < 25 ? s.substring(21) :
+                            (s.substring(21, 25) + "-"
+                                    + (s.length() < 26 ? s.substring(25) :
+                                    s.substring(25, 26))))));
         }
-        return sb.toString();
+        return s;
     }
 
     @Override
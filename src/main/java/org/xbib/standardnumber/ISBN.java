@@ -1,24 +1,19 @@
 package org.xbib.standardnumber;
 
+import org.xbib.standardnumber.checksum.WeightedChecksum;
+
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Characters;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
-
 /**
  * :linkattrs:
  *
@@ -43,12 +38,31 @@ import javax.xml.stream.events.XMLEvent;
  * link:https://www.ietf.org/proceedings/37/charters/urn-charter.html[The IETF URN Charter, window='_blank'],
  * link:http://www.iana.org/assignments/urn-namespaces[The IANA URN assignments, window='_blank'],
  * link:https://www.isbn-international.org/range_file_generation[ISBN prefix generation, window='_blank']
+ *
+ * The hyphenation uses the range message that is bundled with this library. A newer range message
+ * can be loaded with {@link #loadRanges(Path)} or watched with {@link #watchRanges(Path)} at runtime.
+ * The active ranges are replaced atomically, so lookups in other threads are never blocked
+ * and always see either the old or the new ranges.
  */
 public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN> {
 
     private static final Pattern PATTERN = Pattern.compile("[\\p{Digit}xX\\p{Pd}]{10,17}");
 
-    private static final List<String> ranges = new ISBNRangeMessageConfigurator().getRanges();
+    static final WeightedChecksum check13 = WeightedChecksum.builder()
+            .weightsFromRight(3, 1)
+            .modulus(10)
+            .complement(true)
+            .checkCharacters("0123456789")
+            .build();
+
+    static final WeightedChecksum check10 = WeightedChecksum.builder()
+            .ascendingFromRight(2)
+            .modulus(11)
+            .complement(true)
+            .checkCharacters("0123456789X")
+            .build();
+
+    private static volatile ISBNRangeIndex ranges = ISBNRangeIndex.load();
 
     private boolean createWithChecksum;
 
@@ -89,19 +103,168 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
      */
     @Override
     public boolean isValid() {
-        return value != null && !value.isEmpty() && check() && (eanPreferred ? eanvalue != null : value != null);
+        return value != null && !value.isEmpty() && check().isValid() && (eanPreferred ? eanvalue != null : value != null);
+    }
+
+    /**
+     * Check a range of characters for a valid ISBN-10 or ISBN-13 without creating any objects.
+     * The range must contain the number only, hyphens are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 10 || end - start > 17) {
+            return false;
+        }
+        int n = 0;
+        int prefix = 0;
+        int checksum10 = 0;
+        int checksum13 = 0;
+        boolean x = false;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-') {
+                continue;
+            }
+            int val;
+            if (ch >= '0' && ch <= '9' && !x) {
+                val = ch - '0';
+            } else if ((ch == 'X' || ch == 'x') && !x) {
+                val = 10;
+                x = true;
+            } else {
+                return false;
+            }
+            if (n < 3) {
+                prefix = prefix * 10 + val;
+            }
+            checksum10 += (10 - n) * val;
+            checksum13 += (n % 2 == 0 ? 1 : 3) * val;
+            n++;
+        }
+        if (n == 10) {
+            return checksum10 % 11 == 0;
+        }
+        return n == 13 && !x && (prefix == 978 || prefix == 979) && checksum13 % 10 == 0;
+    }
+
+    /**
+     * Check a range of bytes for an ISBN-10 or ISBN-13, e.g. in UTF-8 input, without decoding the bytes.
+     * A number of digits only is checked eight bytes at a time.
+     * The result is the same as from {@link #isValid(CharSequence, int, int)} for the decoded bytes.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if valid, false otherwise
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static boolean isValid(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        if (length == 10) {
+            int checksum = AsciiDigits.mod11Checksum(value, offset, length);
+            if (checksum >= 0) {
+                return checksum % 11 == 0;
+            }
+        } else if (length == 13) {
+            int checksum = AsciiDigits.gtinChecksum(value, offset, length);
+            if (checksum >= 0) {
+                return value[offset] == '9' && value[offset + 1] == '7'
+                        && (value[offset + 2] == '8' || value[offset + 2] == '9') && checksum % 10 == 0;
+            }
+        }
+        return isValid(AsciiDigits.view(value, offset, length), 0, length);
+    }
+
+    /**
+     * Pack an ISBN into a long. The long is the ISBN-13 as a number, including the check digit,
+     * so packed ISBNs are ordered like their ISBN-13 forms. An ISBN-10 is packed as its ISBN-13.
+     *
+     * @param value the value, an ISBN-10 or ISBN-13 without other characters, hyphens are skipped
+     * @return the packed ISBN
+     * @throws NumberFormatException if the value is not a valid ISBN
+     */
+    public static long pack(CharSequence value) {
+        return ISBNValue.parse(value).toLong();
+    }
+
+    /**
+     * Unpack an ISBN into its normalized ISBN-13 form.
+     *
+     * @param packed the packed ISBN
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed ISBN
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        PackedNumbers.checkRange(packed, 9780000000000L, 9800000000000L, "ISBN");
+        return PackedNumbers.append(out, packed, 13, (char) 0);
+    }
+
+    /**
+     * Write consecutive ISBN-13 of a registrant into a buffer, e.g. for assigning the ISBNs of a block.
+     * An ISBN consists of the registrant prefix, the publication element with leading zeros, and the check digit,
+     * and is written as 13 ASCII digits. The ISBNs are written one after the other without separators.
+     * The prefix must end with a registrant element by the active ranges, see {@link #loadRanges(Path)},
+     * so all ISBNs of the block are within the range of the registrant.
+     * The check digit is updated incrementally from one ISBN to the next.
+     *
+     * @param prefix the registrant prefix, e.g. {@code 978-3-551}, hyphens and spaces are skipped
+     * @param start the publication element of the first ISBN
+     * @param count the number of ISBNs
+     * @param out the buffer
+     * @param offset the offset of the first ISBN in the buffer
+     * @return the offset after the last ISBN
+     * @throws IllegalArgumentException if the prefix is not a registrant prefix or the publication elements
+     *                                  do not fit into the remaining digits
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public static int sequence(CharSequence prefix, long start, int count, byte[] out, int offset) {
+        StringBuilder digits = new StringBuilder(12);
+        for (int i = 0; i < prefix.length(); i++) {
+            char ch = prefix.charAt(i);
+            if (ch >= '0' && ch <= '9' && digits.length() < 12) {
+                digits.append(ch);
+            } else if (ch != '-' && ch != ' ') {
+                throw new IllegalArgumentException("not a registrant prefix: " + prefix);
+            }
+        }
+        int n = digits.length();
+        ISBNRangeIndex index = ranges;
+        while (digits.length() < 12) {
+            digits.append('0');
+        }
+        int rule = index.find(digits);
+        if (rule < 0 || index.prefixLength(rule) != n || n > 11) {
+            throw new IllegalArgumentException("not a registrant prefix: " + prefix);
+        }
+        digits.setLength(n);
+        return check13.sequence(digits, start, count, 12 - n, out, offset);
     }
 
     @Override
-    public ISBN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("must not be null");
+            return ValidationResult.MALFORMED;
         }
-        check();
-        this.valid = eanPreferred ? eanvalue != null : value != null;
-        if (!valid) {
-            throw new NumberFormatException("invalid number");
+        ValidationResult result = check();
+        this.valid = result.isValid() && (eanPreferred ? eanvalue != null : value != null);
+        if (!result.isValid()) {
+            return result;
         }
+        return valid ? ValidationResult.VALID : ValidationResult.INVALID;
+    }
+
+    @Override
+    public ISBN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -169,53 +332,20 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
      * @return the country/publisher code from ISBN
      */
     public String getCountryAndPublisherCode() {
-        // we don't care about the wrong createChecksum when we fix the value
-        String code = eanvalue != null ? fix(eanvalue) : fix("978" + value);
-        String s = code.substring(4);
-        int pos1 = s.indexOf('-');
-        if (pos1 <= 0) {
-            return null;
-        }
-        String pubCode = s.substring(pos1 + 1);
-        int pos2 = pubCode.indexOf('-');
-        if (pos2 <= 0) {
-            return null;
-        }
-        return code.substring(0, pos1 + pos2 + 5);
-    }
-
-    private String hyphenate(String pref, String s) {
-        String prefix = pref;
-        String isbn = s;
-        StringBuilder sb = new StringBuilder(prefix.substring(0, 4)); // '978-', '979-'
-        prefix = prefix.substring(4);
-        isbn = isbn.substring(3); // 978, 979
-        int i = 0;
-        int j = 0;
-        while (i < prefix.length()) {
-            char ch = prefix.charAt(i++);
-            if (ch == '-') {
-                sb.append('-'); // set first hyphen
-            } else {
-                sb.append(isbn.charAt(j++));
-            }
-        }
-        sb.append('-'); // set second hyphen
-        while (j < (isbn.length() - 1)) {
-            sb.append(isbn.charAt(j++));
-        }
-        sb.append('-'); // set third hyphen
-        sb.append(isbn.charAt(isbn.length() - 1));
-        return sb.toString();
+        // we don't care about the wrong createChecksum when we look up the value
+        String isbn = eanvalue != null ? eanvalue : "978" + value;
+        ISBNRangeIndex index = ranges;
+        int rule = index.find(isbn);
+        return rule >= 0 ? index.prefix(rule, isbn) : null;
     }
 
-    private boolean check() {
+    private ValidationResult check() {
         this.eanvalue = null;
         this.isEAN = false;
         int val;
         int i;
         if (value.length() < 9) {
-            return false;
+            return ValidationResult.BAD_LENGTH;
         }
         if (value.length() == 10) {
             // ISBN-10
@@ -225,14 +355,14 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
             while (weight > 0) {
                 val = value.charAt(i) == 'X' || value.charAt(i) == 'x' ? 10
                         : value.charAt(i) - '0';
-                if (val >= 0) {
+                if (val >= 0 && val <= 10) {
                     if (val == 10 && weight != 1) {
-                        return false;
+                        return ValidationResult.BAD_CHARACTER;
                     }
                     checksum += weight * val;
                     weight--;
                 } else {
-                    return false;
+                    return ValidationResult.BAD_CHARACTER;
                 }
                 i++;
             }
@@ -241,27 +371,24 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
                 if (createWithChecksum) {
                     this.value = s + createCheckDigit10(s);
                 } else {
-                    return false;
+                    return ValidationResult.BAD_CHECKSUM;
                 }
             }
             this.eanvalue = "978" + s + createCheckDigit13("978" + s);
         } else if (value.length() == 13) {
             // ISBN-13 "book land"
             if (!value.startsWith("978") && !value.startsWith("979")) {
-                return false;
+                return ValidationResult.INVALID;
             }
             int checksum13 = 0;
             int weight13 = 1;
             for (i = 0; i < 13; i++) {
                 val = value.charAt(i) == 'X' || value.charAt(i) == 'x' ? 10 : value.charAt(i) - '0';
-                if (val >= 0) {
-                    if (val == 10) {
-                        return false;
-                    }
+                if (val >= 0 && val < 10) {
                     checksum13 += (weight13 * val);
                     weight13 = (weight13 + 2) % 4;
                 } else {
-                    return false;
+                    return ValidationResult.BAD_CHARACTER;
                 }
             }
             // set value
@@ -270,7 +397,7 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
                     // with createChecksum
                     eanvalue = value.substring(0, 12) + createCheckDigit13(value.substring(0, 12));
                 } else {
-                    return false;
+                    return ValidationResult.BAD_CHECKSUM;
                 }
             } else {
                 eanvalue = value;
@@ -286,30 +413,44 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
         } else if (value.length() == 9) {
             String s = value.substring(0, 9);
             // repair ISBN-10 ?
-            if (createWithChecksum) {
-                // create 978 from 10-digit without createChecksum
-                eanvalue = "978" + s + createCheckDigit13("978" + s);
-                value = s + createCheckDigit10(s);
-            } else {
-                return false;
+            if (!createWithChecksum) {
+                return ValidationResult.BAD_LENGTH;
+            }
+            if (!isDigits(s)) {
+                return ValidationResult.BAD_CHARACTER;
             }
+            // create 978 from 10-digit without createChecksum
+            eanvalue = "978" + s + createCheckDigit13("978" + s);
+            value = s + createCheckDigit10(s);
         } else if (value.length() == 12) {
             // repair ISBN-13 ?
             if (!value.startsWith("978") && !value.startsWith("979")) {
-                return false;
+                return ValidationResult.INVALID;
             }
-            if (createWithChecksum) {
-                String s = value.substring(0, 9);
-                String t = value.substring(3, 12);
-                // create 978 from 10-digit
-                this.eanvalue = "978" + s + createCheckDigit13("978" + s);
-                this.value = t + createCheckDigit10(t);
-            } else {
-                return false;
+            if (!createWithChecksum) {
+                return ValidationResult.BAD_LENGTH;
+            }
+            if (!isDigits(value)) {
+                return ValidationResult.BAD_CHARACTER;
             }
+            String s = value.substring(0, 9);
+            String t = value.substring(3, 12);
+            // create 978 from 10-digit
+            this.eanvalue = "978" + s + createCheckDigit13("978" + s);
+            this.value = t + createCheckDigit10(t);
             this.isEAN = true;
         } else {
-            return false;
+            return ValidationResult.BAD_LENGTH;
+        }
+        return ValidationResult.VALID;
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
         }
         return true;
     }
@@ -321,18 +462,11 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
      * @return check digit
      */
     private char createCheckDigit10(String value) {
-        int checksum = 0;
-        int val;
-        int l = value.length();
-        for (int i = 0; i < l; i++) {
-            val = value.charAt(i) - '0';
-            if (val < 0 || val > 9) {
-                throw new NumberFormatException("not a digit in " + value);
-            }
-            checksum += val * (10 - i);
+        int chk = check10.checksum(value, 0, value.length());
+        if (chk < 0) {
+            throw ValidationResult.BAD_CHARACTER.exception();
         }
-        int mod = checksum % 11;
-        return mod == 0 ? '0' : mod == 1 ? 'X' : (char) ((11 - mod) + '0');
+        return check10.checkCharacter(chk);
     }
 
     /**
@@ -342,68 +476,76 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
      * @return check digit
      */
     private char createCheckDigit13(String value) {
-        int checksum = 0;
-        int weight;
-        int val;
-        int l = value.length();
-        for (int i = 0; i < l; i++) {
-            val = value.charAt(i) - '0';
-            if (val < 0 || val > 9) {
-                throw new NumberFormatException("not a digit in " + value);
-            }
-            weight = i % 2 == 0 ? 1 : 3;
-            checksum += weight * val;
+        int chk = check13.checksum(value, 0, value.length());
+        if (chk < 0) {
+            throw ValidationResult.BAD_CHARACTER.exception();
         }
-        int mod = 10 - checksum % 10;
-        return mod == 10 ? '0' : (char) (mod + '0');
+        return check13.checkCharacter(chk);
     }
 
-    private String fix(String isbn) {
+    static String fix(String isbn) {
         if (isbn == null) {
             return null;
         }
-        for (int i = 0; i < ranges.size(); i += 2) {
-            if (isInRange(isbn, ranges.get(i), ranges.get(i + 1)) == 0) {
-                return hyphenate(ranges.get(i), isbn);
-            }
-        }
-        return isbn;
+        ISBNRangeIndex index = ranges;
+        int rule = index.find(isbn);
+        return rule >= 0 ? index.hyphenate(rule, isbn) : isbn;
     }
 
     /**
-     * Check if ISBN is within a given value range.
+     * Replace the active ranges by the ranges of a range message, e.g. a newer {@code RangeMessage.xml}
+     * from the ISBN agency, or of a binary range table. Parsing a range message requires the
+     * {@code java.xml} module.
      *
-     * @param isbn  ISBN to check
-     * @param begin lower ISBN
-     * @param end   higher ISBN
-     * @return -1 if too low, 1 if too high, 0 if range matches
+     * @param in the input stream of the range message or the range table
+     * @throws IOException if the input stream can not be read
+     * @throws IllegalArgumentException if the input is malformed, the active ranges are kept then
      */
-    private int isInRange(String isbn, String begin, String end) {
-        String b = dehyphenate(begin);
-        int blen = b.length();
-        int c = blen <= isbn.length() ?
-                isbn.substring(0, blen).compareTo(b) :
-                isbn.compareTo(b);
-        if (c < 0) {
-            return -1;
-        }
-        String e = dehyphenate(end);
-        int elen = e.length();
-        c = e.compareTo(isbn.substring(0, elen));
-        if (c < 0) {
-            return 1;
+    public static void loadRanges(InputStream in) throws IOException {
+        ranges = ISBNRangeIndex.read(in);
+    }
+
+    /**
+     * Replace the active ranges by the ranges of a range message file or a range table file.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file is malformed, the active ranges are kept then
+     */
+    public static void loadRanges(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            loadRanges(in);
         }
-        return 0;
+    }
+
+    /**
+     * Load the ranges of a range message file and reload them whenever the file is created or modified.
+     * A file that can not be loaded, e.g. because it is still being written, is skipped,
+     * and the active ranges are kept until the next modification.
+     *
+     * @param path the path of the file
+     * @return a handle that stops watching the file when closed
+     * @throws IOException if the file can not be read or watched
+     */
+    public static Closeable watchRanges(Path path) throws IOException {
+        return watchRanges(path, e -> { });
+    }
+
+    /**
+     * Load the ranges of a range message file and reload them whenever the file is created or modified.
+     *
+     * @param path the path of the file
+     * @param errorHandler receives the exception if a modified file can not be loaded
+     * @return a handle that stops watching the file when closed
+     * @throws IOException if the file can not be read or watched
+     */
+    public static Closeable watchRanges(Path path, Consumer<? super Exception> errorHandler) throws IOException {
+        loadRanges(path);
+        return new ISBNRangeWatcher(path, errorHandler);
     }
 
     private String dehyphenate(String isbn) {
-        StringBuilder sb = new StringBuilder(isbn);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        return sb.toString();
+        return StandardNumberNormalizer.DEFAULT.normalize(isbn);
     }
 
     @Override
@@ -422,87 +564,4 @@ public class ISBN extends StandardNumber implements Cloneable, Comparable<ISBN>
         isbn.set(value);
         return isbn;
     }
-
-    private static final class ISBNRangeMessageConfigurator {
-
-        private final Deque<StringBuilder> content;
-
-        private final List<String> ranges;
-
-        private String prefix;
-
-        private String rangeBegin;
-
-        private String rangeEnd;
-
-        private int length;
-
-        private boolean valid;
-
-        public ISBNRangeMessageConfigurator() {
-            content = new ArrayDeque<>();
-            ranges = new ArrayList<>();
-            length = 0;
-            try (InputStream in = getClass().getResourceAsStream("/org/xbib/standardnumber/RangeMessage.xml")) {
-                XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-                XMLEventReader xmlReader = xmlInputFactory.createXMLEventReader(in);
-                while (xmlReader.hasNext()) {
-                    processEvent(xmlReader.peek());
-                    xmlReader.nextEvent();
-                }
-            } catch (IOException | XMLStreamException e) {
-                throw new IllegalArgumentException(e.getMessage(), e);
-            }
-        }
-
-        private void processEvent(XMLEvent e) {
-            switch (e.getEventType()) {
-                case XMLEvent.START_ELEMENT:
-                    StartElement element = e.asStartElement();
-                    String name = element.getName().getLocalPart();
-                    if ("RegistrationGroups".equals(name)) {
-                        valid = true;
-                    }
-                    content.push(new StringBuilder());
-                    break;
-                case XMLEvent.END_ELEMENT:
-                    EndElement endElement = e.asEndElement();
-                    String endName = endElement.getName().getLocalPart();
-                    String v = content.pop().toString();
-                    if ("Prefix".equals(endName)) {
-                        prefix = v;
-                    }
-                    if ("Range".equals(endName)) {
-                        int pos = v.indexOf('-');
-                        if (pos > 0) {
-                            rangeBegin = v.substring(0, pos);
-                            rangeEnd = v.substring(pos + 1);
-                        }
-                    }
-                    if ("Length".equals(endName)) {
-                        length = Integer.parseInt(v);
-                    }
-                    if ("Rule".equals(endName) && valid && rangeBegin != null && rangeEnd != null && length > 0) {
-                        ranges.add(prefix + "-" + rangeBegin.substring(0, length));
-                        ranges.add(prefix + "-" + rangeEnd.substring(0, length));
-                    }
-                    break;
-                case XMLEvent.CHARACTERS:
-                    Characters c = (Characters) e;
-                    if (!c.isIgnorableWhiteSpace()) {
-                        String text = c.getData().trim();
-                        if (text.length() > 0 && !content.isEmpty()) {
-                            content.peek().append(text);
-                        }
-                    }
-                    break;
-                default:
-                    break;
-            }
-        }
-
-        List<String> getRanges() {
-            return ranges;
-        }
-    }
 }
@@ -0,0 +1,304 @@
+package org.xbib.standardnumber;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable index over the hyphenation rules of an ISBN range message.
+ *
+ * Every rule of a registration group is compiled into a closed interval over the first
+ * twelve digits of an ISBN-13, i.e. the digits without the check digit. The intervals
+ * do not overlap, so they are kept in arrays of primitive longs, sorted by their lower bound.
+ *
+ * The hyphen positions of an ISBN are resolved by parsing the twelve digits into a long and
+ * a binary search over the lower bounds. No objects are allocated during a lookup.
+ *
+ * The index is compiled from {@code RangeMessage.xml} at build time and stored as a binary table
+ * in {@code RangeMessage.bin}, which is read into the arrays without parsing. The table consists of
+ * a magic number, a version and the number of rules, followed by the arrays, in big-endian order.
+ */
+final class ISBNRangeIndex {
+
+    /**
+     * The number of ISBN-13 digits that are covered by the intervals.
+     */
+    private static final int DIGITS = 12;
+
+    /**
+     * The magic number of a binary table, {@code ISBR} in ASCII.
+     */
+    private static final int MAGIC = 0x49534252;
+
+    private static final int VERSION = 1;
+
+    private static final String TABLE = "RangeMessage.bin";
+
+    private static final String MESSAGE = "RangeMessage.xml";
+
+    private final long[] lower;
+
+    private final long[] upper;
+
+    private final byte[] groupLength;
+
+    private final byte[] registrantLength;
+
+    private ISBNRangeIndex(long[] lower, long[] upper, byte[] groupLength, byte[] registrantLength) {
+        this.lower = lower;
+        this.upper = upper;
+        this.groupLength = groupLength;
+        this.registrantLength = registrantLength;
+    }
+
+    /**
+     * Compile an index from a list of range pairs. Each pair consists of the hyphenated
+     * begin and end of a range, e.g. {@code 978-3-00} and {@code 978-3-02}.
+     *
+     * @param ranges the list of range pairs
+     * @return the index
+     * @throws IllegalArgumentException if a range is malformed or ranges overlap
+     */
+    static ISBNRangeIndex of(List<String> ranges) {
+        int n = ranges.size() / 2;
+        long[] lo = new long[n];
+        long[] hi = new long[n];
+        int[] lengths = new int[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            String begin = ranges.get(2 * i);
+            String end = ranges.get(2 * i + 1);
+            int pos1 = begin.indexOf('-');
+            int pos2 = begin.indexOf('-', pos1 + 1);
+            if (pos1 != 3 || pos2 <= pos1 + 1 || pos2 == begin.length() - 1
+                    || begin.length() != end.length() || !begin.regionMatches(0, end, 0, pos2 + 1)) {
+                throw new IllegalArgumentException("malformed range: " + begin + " " + end);
+            }
+            lo[i] = bound(begin, '0');
+            hi[i] = bound(end, '9');
+            lengths[i] = (pos2 - pos1 - 1) << 8 | (begin.length() - pos2 - 1);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(lo[a], lo[b]));
+        long[] lower = new long[n];
+        long[] upper = new long[n];
+        byte[] groupLength = new byte[n];
+        byte[] registrantLength = new byte[n];
+        for (int i = 0; i < n; i++) {
+            int k = order[i];
+            if (i > 0 && lo[k] <= upper[i - 1]) {
+                throw new IllegalArgumentException("overlapping range: " + ranges.get(2 * k));
+            }
+            lower[i] = lo[k];
+            upper[i] = hi[k];
+            groupLength[i] = (byte) (lengths[k] >> 8);
+            registrantLength[i] = (byte) lengths[k];
+        }
+        return new ISBNRangeIndex(lower, upper, groupLength, registrantLength);
+    }
+
+    /**
+     * Load the index of the range message that is bundled with this library. The binary table is used
+     * if it is available, the range message is parsed otherwise.
+     *
+     * @return the index
+     */
+    static ISBNRangeIndex load() {
+        String name = ISBNRangeIndex.class.getResource(TABLE) != null ? TABLE : MESSAGE;
+        try (InputStream in = ISBNRangeIndex.class.getResourceAsStream(name)) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read an index from a binary table or from a range message.
+     *
+     * @param in the input stream of a binary table or of a range message in XML
+     * @return the index
+     * @throws IOException if the input stream can not be read
+     * @throws IllegalArgumentException if the input is malformed
+     */
+    static ISBNRangeIndex read(InputStream in) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length >= 4 && buffer.getInt(0) == MAGIC) {
+            return read(buffer);
+        }
+        return of(new ISBNRangeMessageConfigurator(new ByteArrayInputStream(bytes)).getRanges());
+    }
+
+    /**
+     * Read an index from a binary table.
+     *
+     * @param buffer the buffer, positioned at the start of the table
+     * @return the index
+     * @throws IllegalArgumentException if the table is malformed
+     */
+    static ISBNRangeIndex read(ByteBuffer buffer) {
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("not a range table");
+        }
+        int n = buffer.getInt();
+        if (n < 0 || buffer.remaining() != n * 18L) {
+            throw new IllegalArgumentException("range table has wrong length");
+        }
+        long[] lower = new long[n];
+        long[] upper = new long[n];
+        byte[] groupLength = new byte[n];
+        byte[] registrantLength = new byte[n];
+        buffer.asLongBuffer().get(lower).get(upper);
+        buffer.position(buffer.position() + n * 16);
+        buffer.get(groupLength).get(registrantLength);
+        for (int i = 1; i < n; i++) {
+            if (lower[i] <= upper[i - 1]) {
+                throw new IllegalArgumentException("range table is not sorted");
+            }
+        }
+        return new ISBNRangeIndex(lower, upper, groupLength, registrantLength);
+    }
+
+    /**
+     * Write this index as a binary table.
+     *
+     * @param out the output stream
+     * @throws IOException if the output stream fails
+     */
+    void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(lower.length);
+        for (long l : lower) {
+            data.writeLong(l);
+        }
+        for (long l : upper) {
+            data.writeLong(l);
+        }
+        data.write(groupLength);
+        data.write(registrantLength);
+        data.flush();
+    }
+
+    /**
+     * Compile the binary table from the range message at build time.
+     *
+     * @param args the path of the range message and the path of the binary table
+     * @throws IOException if the range message can not be read or the table can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path table = Paths.get(args[1]);
+        Files.createDirectories(table.toAbsolutePath().getParent());
+        try (InputStream in = Files.newInputStream(Paths.get(args[0]));
+             OutputStream out = Files.newOutputStream(table)) {
+            read(in).write(out);
+        }
+    }
+
+    /**
+     * Find the rule that applies to an ISBN-13.
+     *
+     * @param isbn the ISBN-13 digits, without hyphens
+     * @return the rule number, or -1 if no rule applies
+     */
+    int find(CharSequence isbn) {
+        if (isbn.length() < DIGITS) {
+            return -1;
+        }
+        long key = 0L;
+        for (int i = 0; i < DIGITS; i++) {
+            int val = isbn.charAt(i) - '0';
+            if (val < 0 || val > 9) {
+                return -1;
+            }
+            key = key * 10 + val;
+        }
+        int i = Arrays.binarySearch(lower, key);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return i >= 0 && key <= upper[i] ? i : -1;
+    }
+
+    /**
+     * Hyphenate an ISBN-13 by a rule.
+     *
+     * @param rule the rule number, as returned by {@link #find(CharSequence)}
+     * @param isbn the ISBN-13 digits, without hyphens
+     * @return the hyphenated ISBN-13
+     */
+    String hyphenate(int rule, CharSequence isbn) {
+        int len = isbn.length();
+        int group = 3 + groupLength[rule];
+        int registrant = group + registrantLength[rule];
+        char[] chars = new char[len + 4];
+        int j = 0;
+        for (int i = 0; i < len; i++) {
+            if (i == 3 || i == group || i == registrant) {
+                chars[j++] = '-';
+            }
+            if (i == len - 1) {
+                chars[j++] = '-';
+            }
+            chars[j++] = isbn.charAt(i);
+        }
+        return new String(chars, 0, j);
+    }
+
+    /**
+     * Return the hyphenated prefix of an ISBN-13 up to and including the registrant element.
+     *
+     * @param rule the rule number, as returned by {@link #find(CharSequence)}
+     * @param isbn the ISBN-13 digits, without hyphens
+     * @return the hyphenated prefix, e.g. {@code 978-3-551}
+     */
+    String prefix(int rule, CharSequence isbn) {
+        int group = 3 + groupLength[rule];
+        int registrant = group + registrantLength[rule];
+        return new StringBuilder(registrant + 2)
+                .append(isbn, 0, 3).append('-')
+                .append(isbn, 3, group).append('-')
+                .append(isbn, group, registrant)
+                .toString();
+    }
+
+    /**
+     * Return the number of digits of an ISBN-13 up to and including the registrant element.
+     *
+     * @param rule the rule number, as returned by {@link #find(CharSequence)}
+     * @return the number of digits of the prefix, e.g. 7 for {@code 978-3-551}
+     */
+    int prefixLength(int rule) {
+        return 3 + groupLength[rule] + registrantLength[rule];
+    }
+
+    private static long bound(String range, char pad) {
+        long l = 0L;
+        int n = 0;
+        for (int i = 0; i < range.length() && n < DIGITS; i++) {
+            char ch = range.charAt(i);
+            if (ch == '-') {
+                continue;
+            }
+            if (ch < '0' || ch > '9') {
+                throw new IllegalArgumentException("not a digit in range: " + range);
+            }
+            l = l * 10 + (ch - '0');
+            n++;
+        }
+        for (; n < DIGITS; n++) {
+            l = l * 10 + (pad - '0');
+        }
+        return l;
+    }
+}
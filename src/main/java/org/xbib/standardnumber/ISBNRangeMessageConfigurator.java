@@ -0,0 +1,104 @@
+package org.xbib.standardnumber;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.EndElement;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * A parser for the range message of the International ISBN Agency. It collects the ranges
+ * of the registration groups as pairs of hyphenated begin and end, e.g. {@code 978-3-00} and {@code 978-3-02}.
+ *
+ * This class is only used for building the binary range table, and as a fallback if the table is not available.
+ */
+final class ISBNRangeMessageConfigurator {
+
+    private final Deque<StringBuilder> content;
+
+    private final List<String> ranges;
+
+    private String prefix;
+
+    private String rangeBegin;
+
+    private String rangeEnd;
+
+    private int length;
+
+    private boolean valid;
+
+    ISBNRangeMessageConfigurator(InputStream in) {
+        content = new ArrayDeque<>();
+        ranges = new ArrayList<>();
+        length = 0;
+        try {
+            XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+            XMLEventReader xmlReader = xmlInputFactory.createXMLEventReader(in);
+            while (xmlReader.hasNext()) {
+                processEvent(xmlReader.peek());
+                xmlReader.nextEvent();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private void processEvent(XMLEvent e) {
+        switch (e.getEventType()) {
+            case XMLEvent.START_ELEMENT:
+                StartElement element = e.asStartElement();
+                String name = element.getName().getLocalPart();
+                if ("RegistrationGroups".equals(name)) {
+                    valid = true;
+                }
+                content.push(new StringBuilder());
+                break;
+            case XMLEvent.END_ELEMENT:
+                EndElement endElement = e.asEndElement();
+                String endName = endElement.getName().getLocalPart();
+                String v = content.pop().toString();
+                if ("Prefix".equals(endName)) {
+                    prefix = v;
+                }
+                if ("Range".equals(endName)) {
+                    int pos = v.indexOf('-');
+                    if (pos > 0) {
+                        rangeBegin = v.substring(0, pos);
+                        rangeEnd = v.substring(pos + 1);
+                    }
+                }
+                if ("Length".equals(endName)) {
+                    length = Integer.parseInt(v);
+                }
+                if ("Rule".equals(endName) && valid && rangeBegin != null && rangeEnd != null && length > 0) {
+                    ranges.add(prefix + "-" + rangeBegin.substring(0, length));
+                    ranges.add(prefix + "-" + rangeEnd.substring(0, length));
+                }
+                break;
+            case XMLEvent.CHARACTERS:
+                Characters c = (Characters) e;
+                if (!c.isIgnorableWhiteSpace()) {
+                    String text = c.getData().trim();
+                    if (text.length() > 0 && !content.isEmpty()) {
+                        content.peek().append(text);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    List<String> getRanges() {
+        return ranges;
+    }
+}
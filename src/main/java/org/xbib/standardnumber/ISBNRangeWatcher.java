@@ -0,0 +1,93 @@
+package org.xbib.standardnumber;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+/**
+ * Watches a range message file and loads it into {@link ISBN} whenever it is created or modified.
+ *
+ * The directory of the file is watched by a daemon thread, which stops when the watcher is closed.
+ */
+final class ISBNRangeWatcher implements Closeable, Runnable {
+
+    private final Path path;
+
+    private final Consumer<? super Exception> errorHandler;
+
+    private final Runnable reloadHandler;
+
+    private final WatchService watchService;
+
+    ISBNRangeWatcher(Path path, Consumer<? super Exception> errorHandler) throws IOException {
+        this(path, errorHandler, () -> { });
+    }
+
+    /**
+     * Create a watcher that also notifies a handler after the ranges are reloaded.
+     *
+     * @param path the range message file
+     * @param errorHandler the handler of errors while reloading
+     * @param reloadHandler the handler that is run after the ranges are reloaded
+     * @throws IOException if the directory of the file can not be watched
+     */
+    ISBNRangeWatcher(Path path, Consumer<? super Exception> errorHandler, Runnable reloadHandler) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.errorHandler = errorHandler;
+        this.reloadHandler = reloadHandler;
+        this.watchService = this.path.getFileSystem().newWatchService();
+        try {
+            this.path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        Thread thread = new Thread(this, "isbn-range-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean modified = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    modified |= path.getFileName().equals(event.context());
+                }
+                if (modified) {
+                    reload();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void reload() {
+        try {
+            ISBN.loadRanges(path);
+            reloadHandler.run();
+        } catch (IOException | RuntimeException e) {
+            errorHandler.accept(e);
+        }
+    }
+}
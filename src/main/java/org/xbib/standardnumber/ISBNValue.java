@@ -0,0 +1,138 @@
+package org.xbib.standardnumber;
+
+/**
+ * An immutable, parsed International Standard Book Number.
+ *
+ * The value holds the thirteen digits of the ISBN-13, including the check digit, in a long.
+ * An ISBN-10 is converted to its ISBN-13 form while parsing, so both forms of the same book
+ * are equal. Instances are safe to share between threads and to use as map keys.
+ *
+ * Use {@link ISBN} for repairing check digits or for lenient extraction from free text.
+ */
+public final class ISBNValue implements Comparable<ISBNValue> {
+
+    private final long value;
+
+    private ISBNValue(long value) {
+        this.value = value;
+    }
+
+    /**
+     * Parse an ISBN-10 or ISBN-13. The value must contain the number only, hyphens are skipped.
+     *
+     * @param value the value
+     * @return the parsed ISBN
+     * @throws NumberFormatException if the value is not a valid ISBN
+     */
+    public static ISBNValue parse(CharSequence value) {
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * Parse an ISBN-10 or ISBN-13 from a range of characters. The range must contain the number only,
+     * hyphens are skipped.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the parsed ISBN
+     * @throws NumberFormatException if the range does not contain a valid ISBN
+     */
+    public static ISBNValue parse(CharSequence value, int start, int end) {
+        if (!ISBN.isValid(value, start, end)) {
+            throw ValidationResult.INVALID.exception();
+        }
+        long l = 0L;
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                l = l * 10 + (ch - '0');
+                n++;
+            }
+        }
+        if (n == 13) {
+            return new ISBNValue(l);
+        }
+        // ISBN-10: drop the check digit, prepend 978 and append the ISBN-13 check digit
+        if (n == 10) {
+            l = l / 10;
+        }
+        return of(978000000000L + l);
+    }
+
+    /**
+     * Create an ISBN from the first twelve digits of an ISBN-13.
+     *
+     * @param digits the first twelve digits
+     * @return the ISBN with computed check digit
+     */
+    private static ISBNValue of(long digits) {
+        return new ISBNValue(digits * 10 + ISBN.check13.checksum(digits, 12));
+    }
+
+    /**
+     * Return the thirteen digits of the ISBN-13 as a long.
+     *
+     * @return the ISBN-13 digits
+     */
+    public long toLong() {
+        return value;
+    }
+
+    /**
+     * Return the ISBN-13, without hyphens.
+     *
+     * @return the ISBN-13
+     */
+    public String toISBN13() {
+        return Long.toString(value);
+    }
+
+    /**
+     * Return the ISBN-10, without hyphens.
+     *
+     * @return the ISBN-10, or null if the ISBN has no 10-digit form
+     */
+    public String toISBN10() {
+        if (value / 10000000000L != 978) {
+            return null;
+        }
+        long digits = value / 10 % 1000000000L;
+        char check = ISBN.check10.checkCharacter(ISBN.check10.checksum(digits, 9));
+        StringBuilder sb = new StringBuilder(10).append(digits);
+        while (sb.length() < 9) {
+            sb.insert(0, '0');
+        }
+        return sb.append(check).toString();
+    }
+
+    /**
+     * Return the hyphenated ISBN-13.
+     *
+     * @return the hyphenated ISBN-13, or the ISBN-13 without hyphens if no range rule applies
+     */
+    public String format() {
+        return ISBN.fix(toISBN13());
+    }
+
+    @Override
+    public int compareTo(ISBNValue isbn) {
+        return Long.compare(value, isbn.value);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof ISBNValue && value == ((ISBNValue) object).value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return toISBN13();
+    }
+}
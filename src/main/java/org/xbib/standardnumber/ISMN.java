@@ -1,5 +1,7 @@
 package org.xbib.standardnumber;
 
+import org.xbib.standardnumber.checksum.WeightedChecksum;
+
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.regex.Matcher;
@@ -28,6 +30,18 @@ public class ISMN extends StandardNumber implements Cloneable, Comparable<ISMN>
 
     private static final Pattern PATTERN = Pattern.compile("[\\p{Digit}M\\p{Pd}]{0,17}");
 
+    private static final WeightedChecksum check = WeightedChecksum.builder()
+            .weightsFromRight(3, 1)
+            .modulus(10)
+            .complement(true)
+            .checkCharacters("0123456789")
+            .build();
+
+    /**
+     * The number of digits of a publisher element by its first digit.
+     */
+    private static final int[] PUBLISHER_LENGTH = {3, 4, 4, 4, 5, 5, 5, 6, 6, 7};
+
     private boolean createWithChecksum;
 
     public ISMN() {
@@ -60,14 +74,156 @@ public class ISMN extends StandardNumber implements Cloneable, Comparable<ISMN>
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid ISMN without creating any objects.
+     * The range must contain the number only, hyphens are skipped and a leading {@code M}
+     * is read as {@code 979-0}.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start > 17) {
+            return false;
+        }
+        int n = 0;
+        int checksum = 0;
+        int last = 0;
+        boolean prefixed = end - start >= 3 && value.charAt(start) == '9'
+                && value.charAt(start + 1) == '7' && value.charAt(start + 2) == '9';
+        if (!prefixed) {
+            // 9, 7, 9 with weights 1, 3, 1
+            checksum = 39;
+            n = 3;
+        }
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-') {
+                continue;
+            }
+            if (ch == 'M') {
+                last = 0;
+            } else if (ch >= '0' && ch <= '9') {
+                last = ch - '0';
+            } else {
+                return false;
+            }
+            checksum += (n % 2 == 0 ? 1 : 3) * last;
+            n++;
+        }
+        // the check digit has weight 1
+        if (n % 2 == 0) {
+            checksum -= 2 * last;
+        }
+        return checksum % 10 == 0;
+    }
+
+    /**
+     * Pack an ISMN into a long. The long is the 13-digit form of the ISMN as a number, including
+     * the check digit, so packed ISMNs are ordered like their normalized values.
+     *
+     * @param value the value, in the 13-digit form or in the form with {@code M}, hyphens are skipped
+     * @return the packed ISMN
+     * @throws NumberFormatException if the value is not a valid ISMN
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        long l = 0L;
+        int n = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch != '-') {
+                l = l * 10 + (ch == 'M' ? 0 : ch - '0');
+                n++;
+            }
+        }
+        if (n == 10 && value.charAt(0) == 'M') {
+            l += 979L * PackedNumbers.pow10(10);
+            n += 3;
+        }
+        if (n != 13) {
+            throw ValidationResult.BAD_LENGTH.exception();
+        }
+        if (l / PackedNumbers.pow10(9) != 9790) {
+            throw ValidationResult.INVALID.exception();
+        }
+        return l;
+    }
+
+    /**
+     * Unpack an ISMN into its normalized 13-digit form.
+     *
+     * @param packed the packed ISMN
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed ISMN
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        PackedNumbers.checkRange(packed, 9790L * PackedNumbers.pow10(9), 9791L * PackedNumbers.pow10(9), "ISMN");
+        return PackedNumbers.append(out, packed, 13, (char) 0);
+    }
+
+    /**
+     * Write consecutive ISMNs of a publisher into a buffer, e.g. for assigning the ISMNs of a block.
+     * An ISMN consists of the prefix {@code 979-0}, the publisher element, the item element with leading zeros
+     * and the check digit, and is written as 13 ASCII digits. The ISMNs are written one after the other
+     * without separators. The publisher element must have the length of its range, i.e. 3 digits from
+     * {@code 000}, 4 digits from {@code 1000}, 5 digits from {@code 40000}, 6 digits from {@code 700000} and
+     * 7 digits from {@code 9000000}, so all ISMNs of the block are within the range of the publisher.
+     * The check digit is updated incrementally from one ISMN to the next.
+     *
+     * @param prefix the publisher prefix, e.g. {@code 979-0-2306} or {@code M-2306}, hyphens and spaces are skipped
+     * @param start the item element of the first ISMN
+     * @param count the number of ISMNs
+     * @param out the buffer
+     * @param offset the offset of the first ISMN in the buffer
+     * @return the offset after the last ISMN
+     * @throws IllegalArgumentException if the prefix is not a publisher prefix or the item elements
+     *                                  do not fit into the remaining digits
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public static int sequence(CharSequence prefix, long start, int count, byte[] out, int offset) {
+        StringBuilder digits = new StringBuilder(12);
+        for (int i = 0; i < prefix.length(); i++) {
+            char ch = prefix.charAt(i);
+            if (ch == 'M' && digits.length() == 0) {
+                digits.append("9790");
+            } else if (ch >= '0' && ch <= '9' && digits.length() < 12) {
+                digits.append(ch);
+            } else if (ch != '-' && ch != ' ') {
+                throw new IllegalArgumentException("not a publisher prefix: " + prefix);
+            }
+        }
+        int n = digits.length();
+        if (n < 7 || n > 11 || !"9790".contentEquals(digits.subSequence(0, 4))
+                || PUBLISHER_LENGTH[digits.charAt(4) - '0'] != n - 4) {
+            throw new IllegalArgumentException("not a publisher prefix: " + prefix);
+        }
+        return check.sequence(digits, start, count, 12 - n, out, offset);
+    }
+
     @Override
-    public ISMN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("invalid checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public ISMN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -96,7 +252,7 @@ public class ISMN extends StandardNumber implements Cloneable, Comparable<ISMN>
     }
 
     public GTIN toGTIN() throws NoSuchStandardNumberException, NumberFormatException {
-        return (GTIN) StandardNumber.getInstance("gtin").set(value).normalize().verify();
+        return (GTIN) new GTIN().set(value).normalize().verify();
     }
 
     private boolean check() {
@@ -109,7 +265,7 @@ public class ISMN extends StandardNumber implements Cloneable, Comparable<ISMN>
             weight = i % 2 == 0 ? 1 : 3;
             checksum += val * weight;
         }
-        int chk = 10 - checksum % 10;
+        int chk = (10 - checksum % 10) % 10;
         if (createWithChecksum) {
             char ch = (char) ('0' + chk);
             value = value + ch;
@@ -118,13 +274,7 @@ public class ISMN extends StandardNumber implements Cloneable, Comparable<ISMN>
     }
 
     private String dehyphenate(String isbn) {
-        StringBuilder sb = new StringBuilder(isbn);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        return sb.toString();
+        return StandardNumberNormalizer.DEFAULT.normalize(isbn);
     }
 
     @Override
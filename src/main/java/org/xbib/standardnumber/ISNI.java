@@ -1,6 +1,6 @@
 package org.xbib.standardnumber;
 
-import org.xbib.standardnumber.checksum.iso7064.MOD112;
+import org.xbib.standardnumber.checksum.iso7064.ISO7064;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -21,7 +21,7 @@ public class ISNI extends StandardNumber implements Cloneable, Comparable<ISNI>
 
     private static final Pattern PATTERN = Pattern.compile("[\\p{Digit}xX\\p{Pd}\\s]{16,24}");
 
-    private static final MOD112 check = new MOD112();
+    private static final ISO7064 check = ISO7064.MOD_11_2;
 
     private String formatted;
 
@@ -46,11 +46,100 @@ public class ISNI extends StandardNumber implements Cloneable, Comparable<ISNI>
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid ISNI without creating any objects.
+     * The range must contain the number only, hyphens and spaces are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 16 || end - start > 24) {
+            return false;
+        }
+        int n = 0;
+        int p = 0;
+        int val = -1;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (val == 10) {
+                return false;
+            }
+            if (val >= 0) {
+                p = (2 * (p + val)) % 11;
+            }
+            if (ch >= '0' && ch <= '9') {
+                val = ch - '0';
+            } else if (ch == 'X' || ch == 'x') {
+                val = 10;
+            } else {
+                return false;
+            }
+            n++;
+        }
+        return n >= 16 && (12 - p) % 11 == val;
+    }
+
+    /**
+     * Pack an ISNI into a long. The long is the number of the ISNI without the check character,
+     * which is computed again when unpacking, so packed ISNIs are ordered like their normalized values.
+     *
+     * @param value the value, the 16 characters without other characters, hyphens and spaces are skipped
+     * @return the packed ISNI
+     * @throws NumberFormatException if the value is not a valid ISNI
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        char last = value.charAt(value.length() - 1);
+        if (PackedNumbers.count(value, 0, value.length()) + (last == 'X' || last == 'x' ? 1 : 0) != 16) {
+            throw ValidationResult.BAD_LENGTH.exception();
+        }
+        return PackedNumbers.digits(value, 0, value.length(), 15);
+    }
+
+    /**
+     * Unpack an ISNI into its normalized form.
+     *
+     * @param packed the packed ISNI
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed ISNI
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        PackedNumbers.checkRange(packed, 0L, PackedNumbers.pow10(15), "ISNI");
+        // MOD 11-2
+        int p = 0;
+        for (int i = 14; i >= 0; i--) {
+            p = (int) ((2 * (p + packed / PackedNumbers.pow10(i) % 10)) % 11);
+        }
+        return PackedNumbers.append(out, packed, 15, PackedNumbers.check11((12 - p) % 11));
+    }
+
     @Override
-    public ISNI verify() {
+    public ValidationResult verifyResult() {
+        if (value == null || value.isEmpty()) {
+            return ValidationResult.MALFORMED;
+        }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public ISNI verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -109,18 +198,7 @@ public class ISNI extends StandardNumber implements Cloneable, Comparable<ISNI>
     }
 
     private String clean(String isbn) {
-        StringBuilder sb = new StringBuilder(isbn);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        i = sb.indexOf(" ");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf(" ");
-        }
-        return sb.toString();
+        return StandardNumberNormalizer.DEFAULT.normalize(isbn);
     }
 
 
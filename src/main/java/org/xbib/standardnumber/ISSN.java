@@ -1,7 +1,10 @@
 package org.xbib.standardnumber;
 
+import org.xbib.standardnumber.checksum.WeightedChecksum;
+
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,6 +62,14 @@ public class ISSN extends StandardNumber implements Cloneable, Comparable<ISSN>
 
     private static final Pattern PATTERN = Pattern.compile("[0-9]{4}\\p{Pd}?[0-9]{3}[0-9xX]");
 
+    static final WeightedChecksum check = WeightedChecksum.builder()
+            .ascendingFromRight(2)
+            .modulus(11)
+            .complement(true)
+            .checkCharacters("0123456789X")
+            .ignoreCase(true)
+            .build();
+
     private String formatted;
 
     private boolean createWithChecksum;
@@ -90,14 +101,106 @@ public class ISSN extends StandardNumber implements Cloneable, Comparable<ISSN>
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid ISSN without creating any objects.
+     * The range must contain the number only, optionally with a hyphen after the fourth digit.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        boolean hyphen = end - start == 9 && value.charAt(start + 4) == '-';
+        if (end - start != 8 && !hyphen) {
+            return false;
+        }
+        int checksum = 0;
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (hyphen && i == start + 4) {
+                continue;
+            }
+            int val;
+            if (ch >= '0' && ch <= '9') {
+                val = ch - '0';
+            } else if (n == 7 && (ch == 'X' || ch == 'x')) {
+                val = 10;
+            } else {
+                return false;
+            }
+            checksum += (8 - n) * val;
+            n++;
+        }
+        return checksum % 11 == 0;
+    }
+
+    /**
+     * Check a range of bytes for an ISSN, e.g. in UTF-8 input, without decoding the bytes.
+     * A number of digits only is checked eight bytes at a time.
+     * The result is the same as from {@link #isValid(CharSequence, int, int)} for the decoded bytes.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if valid, false otherwise
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static boolean isValid(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        if (length == 8) {
+            int checksum = AsciiDigits.mod11Checksum(value, offset, length);
+            if (checksum >= 0) {
+                return checksum % 11 == 0;
+            }
+        }
+        return isValid(AsciiDigits.view(value, offset, length), 0, length);
+    }
+
+    /**
+     * Pack an ISSN into an int. The int is the number of the ISSN without the check character,
+     * which is computed again when unpacking, so packed ISSNs are ordered like their normalized values.
+     *
+     * @param value the value, the number without other characters, optionally with a hyphen after the fourth digit
+     * @return the packed ISSN
+     * @throws NumberFormatException if the value is not a valid ISSN
+     */
+    public static int pack(CharSequence value) {
+        return ISSNValue.parse(value).toInt();
+    }
+
+    /**
+     * Unpack an ISSN into its normalized form, without hyphen.
+     *
+     * @param packed the packed ISSN
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed ISSN
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(int packed, A out) {
+        PackedNumbers.checkRange(packed, 0L, PackedNumbers.pow10(7), "ISSN");
+        return PackedNumbers.append(out, packed, 7, ISSNValue.checkCharacter(packed));
+    }
+
     @Override
-    public ISSN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public ISSN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -137,7 +240,7 @@ public class ISSN extends StandardNumber implements Cloneable, Comparable<ISSN>
     }
 
     public GTIN toGTIN() throws NumberFormatException, NoSuchStandardNumberException {
-        return (GTIN) GTIN.getInstance("gtin")
+        return (GTIN) new GTIN()
                 .set("977" + value.substring(0, 7) + "000")
                 .createChecksum(true)
                 .normalize()
@@ -146,7 +249,7 @@ public class ISSN extends StandardNumber implements Cloneable, Comparable<ISSN>
 
     public GTIN toGTIN(String additionalCode) throws NumberFormatException, NoSuchStandardNumberException {
         // "977" + ISSN + add-on + placeholder for createChecksum
-        return (GTIN) GTIN.getInstance("gtin")
+        return (GTIN) new GTIN()
                 .set("977" + value.substring(0, 7) + additionalCode + "0")
                 .createChecksum(true)
                 .normalize()
@@ -154,31 +257,23 @@ public class ISSN extends StandardNumber implements Cloneable, Comparable<ISSN>
     }
 
     private boolean check() {
-        int l = createWithChecksum ? value.length() : value.length() - 1;
-        int checksum = 0;
-        int weight;
-        int val;
-        for (int i = 0; i < l; i++) {
-            val = value.charAt(i) - '0';
-            weight = 8 - i;
-            checksum += weight * val;
+        int l = value.length() - 1;
+        if (createWithChecksum) {
+            int chk = check.checksum(value, 0, l);
+            if (chk < 0) {
+                return false;
+            }
+            value = value.substring(0, l) + check.checkCharacter(chk);
         }
-        int chk = checksum % 11;
-        char p = chk == 0 ? '0' : chk == 1 ? 'X' : (char) ((11 - chk) + '0');
-        return p == Character.toUpperCase(value.charAt(l));
+        return check.isValid(value, 0, value.length());
     }
 
     private String dehyphenate(String isbn) {
-        StringBuilder sb = new StringBuilder(isbn);
-        int i = sb.indexOf("-");
-        while (i > 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        if (sb.length() > 7) {
-            this.formatted = sb.substring(0, 4) + "-" + sb.substring(4, 8);
+        String s = StandardNumberNormalizer.DEFAULT.normalize(isbn);
+        if (s.length() > 7) {
+            this.formatted = s.substring(0, 4) + "-" + s.substring(4, 8);
         }
-        return sb.toString();
+        return s;
     }
 
     @Override
@@ -0,0 +1,120 @@
+package org.xbib.standardnumber;
+
+/**
+ * An immutable, parsed International Standard Serial Number.
+ *
+ * The value holds the seven digits of the ISSN without the check character in an int,
+ * the check character is derived. Instances are safe to share between threads and to use as map keys.
+ *
+ * Use {@link ISSN} for repairing check digits or for lenient extraction from free text.
+ */
+public final class ISSNValue implements Comparable<ISSNValue> {
+
+    private final int value;
+
+    private ISSNValue(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Parse an ISSN. The value must contain the number only, optionally with a hyphen after the fourth digit.
+     *
+     * @param value the value
+     * @return the parsed ISSN
+     * @throws NumberFormatException if the value is not a valid ISSN
+     */
+    public static ISSNValue parse(CharSequence value) {
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * Parse an ISSN from a range of characters. The range must contain the number only,
+     * optionally with a hyphen after the fourth digit.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the parsed ISSN
+     * @throws NumberFormatException if the range does not contain a valid ISSN
+     */
+    public static ISSNValue parse(CharSequence value, int start, int end) {
+        if (!ISSN.isValid(value, start, end)) {
+            throw ValidationResult.INVALID.exception();
+        }
+        int l = 0;
+        int n = 0;
+        for (int i = start; i < end && n < 7; i++) {
+            char ch = value.charAt(i);
+            if (ch != '-') {
+                l = l * 10 + (ch - '0');
+                n++;
+            }
+        }
+        return new ISSNValue(l);
+    }
+
+    /**
+     * Return the seven digits of the ISSN without the check character as an int.
+     *
+     * @return the ISSN digits
+     */
+    public int toInt() {
+        return value;
+    }
+
+    /**
+     * Return the check character of the ISSN.
+     *
+     * @return the check character, a digit or {@code X}
+     */
+    public char checkCharacter() {
+        return checkCharacter(value);
+    }
+
+    static char checkCharacter(int value) {
+        return ISSN.check.checkCharacter(ISSN.check.checksum(value, 7));
+    }
+
+    /**
+     * Return the hyphenated ISSN, e.g. {@code 0729-011X}.
+     *
+     * @return the hyphenated ISSN
+     */
+    public String format() {
+        String s = toString();
+        return s.substring(0, 4) + '-' + s.substring(4);
+    }
+
+    /**
+     * Return the GTIN-13 of this ISSN with the prefix 977 and the additional code 00.
+     *
+     * @return the GTIN
+     */
+    public GTINValue toGTIN() {
+        return GTINValue.of(977000000000L + value * 100L, 13);
+    }
+
+    @Override
+    public int compareTo(ISSNValue issn) {
+        return Integer.compare(value, issn.value);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof ISSNValue && value == ((ISSNValue) object).value;
+    }
+
+    @Override
+    public int hashCode() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(8).append(value);
+        while (sb.length() < 7) {
+            sb.insert(0, '0');
+        }
+        return sb.append(checkCharacter()).toString();
+    }
+}
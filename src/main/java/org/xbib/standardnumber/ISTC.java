@@ -1,5 +1,7 @@
 package org.xbib.standardnumber;
 
+import org.xbib.standardnumber.checksum.WeightedChecksum;
+
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.regex.Matcher;
@@ -29,6 +31,13 @@ public class ISTC extends StandardNumber implements Cloneable, Comparable<ISTC>
 
     private static final Pattern PATTERN = Pattern.compile("^[\\p{Alnum}\\p{Pd}\\s]{12,24}");
 
+    private static final WeightedChecksum check = WeightedChecksum.builder()
+            .alphabet("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+            .weights(11, 9, 3, 1)
+            .modulus(16)
+            .checkCharacters("0123456789ABCDEF")
+            .build();
+
     private String formatted;
 
     private boolean createWithChecksum;
@@ -62,14 +71,144 @@ public class ISTC extends StandardNumber implements Cloneable, Comparable<ISTC>
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid ISTC without creating any objects.
+     * The range must contain the number only, an {@code ISTC} prefix, hyphens and spaces are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 12 || end - start > 24) {
+            return false;
+        }
+        int begin = skipPrefix(value, start, end, "ISTC");
+        int n = 0;
+        int checksum = 0;
+        int val = -1;
+        for (int i = begin; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (val >= 0) {
+                // weights 11, 9, 3, 1
+                checksum += val * (n % 4 == 1 ? 11 : n % 4 == 2 ? 9 : n % 4 == 3 ? 3 : 1);
+            }
+            if (ch >= '0' && ch <= '9') {
+                val = ch - '0';
+            } else if (ch >= 'A' && ch <= 'Z') {
+                val = ch - 'A' + 10;
+            } else {
+                return false;
+            }
+            n++;
+        }
+        return val >= 0 && checksum % 16 == val;
+    }
+
+    /**
+     * Pack an ISTC into a long. The fifteen hexadecimal digits of the ISTC without the check digit,
+     * which is computed again when unpacking, are kept in the bits 0 to 59, so packed ISTCs
+     * are ordered like their normalized values.
+     *
+     * @param value the value, the 16 hexadecimal digits without other characters, optionally with the
+     *              prefix {@code ISTC}, hyphens and spaces are skipped
+     * @return the packed ISTC
+     * @throws NumberFormatException if the value is not a valid ISTC
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        long l = 0L;
+        int n = 0;
+        for (int i = skipPrefix(value, 0, value.length(), "ISTC"); i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (ch > 'F') {
+                throw ValidationResult.BAD_CHARACTER.exception();
+            }
+            if (n++ < 15) {
+                l = l << 4 | Character.digit(ch, 16);
+            }
+        }
+        if (n != 16) {
+            throw ValidationResult.BAD_LENGTH.exception();
+        }
+        return l;
+    }
+
+    /**
+     * Unpack an ISTC into its normalized form.
+     *
+     * @param packed the packed ISTC
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed ISTC
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        PackedNumbers.checkRange(packed, 0L, 1L << 60, "ISTC");
+        char[] chars = new char[16];
+        int checksum = 0;
+        for (int i = 0; i < 15; i++) {
+            int val = (int) (packed >>> (56 - 4 * i)) & 0xf;
+            // weights 11, 9, 3, 1
+            checksum += val * (i % 4 == 0 ? 11 : i % 4 == 1 ? 9 : i % 4 == 2 ? 3 : 1);
+            chars[i] = Character.toUpperCase(Character.forDigit(val, 16));
+        }
+        chars[15] = Character.toUpperCase(Character.forDigit(checksum % 16, 16));
+        return PackedNumbers.append(out, chars);
+    }
+
+    /**
+     * Return the index after a prefix, with hyphens and spaces skipped.
+     *
+     * @param value the characters
+     * @param start the start index
+     * @param end the end index
+     * @param prefix the prefix
+     * @return the index after the prefix, or the start index if there is no prefix
+     */
+    private static int skipPrefix(CharSequence value, int start, int end, String prefix) {
+        int j = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (ch != prefix.charAt(j)) {
+                return start;
+            }
+            if (++j == prefix.length()) {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
     @Override
-    public ISTC verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public ISTC verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -100,58 +239,32 @@ public class ISTC extends StandardNumber implements Cloneable, Comparable<ISTC>
 
     private boolean check() {
         int l = value.length() - 1;
-        int checksum = 0;
-        int weight;
-        int factor;
-        int val;
-        for (int i = 0; i < l; i++) {
-            val = value.charAt(i);
-            if (val >= 'A' && val <= 'Z') {
-                val = 10 + (val - 'A');
-            }
-            if (val >= '0' && val <= '9') {
-                val = val - '0';
-            }
-            factor = i % 4 < 2 ? 1 : 5;
-            weight = (12 - 2 * (i % 4)) - factor; // --> 11,9,3,1
-            checksum += val * weight;
-        }
-        int chk = checksum % 16;
         if (createWithChecksum) {
-            char ch = chk > 9 ? (char) (10 + (chk - 'A')) : (char) ('0' + chk);
-            value = value.substring(0, l) + ch;
+            int chk = check.checksum(value, 0, l);
+            if (chk < 0) {
+                return false;
+            }
+            value = value.substring(0, l) + check.checkCharacter(chk);
         }
-        char digit = value.charAt(l);
-        int chk2 = (digit >= '0' && digit <= '9') ? digit - '0' : digit - 'A' + 10;
-        return chk == chk2;
+        return check.isValid(value, 0, value.length());
     }
 
     private String clean(String raw) {
         if (raw == null) {
             return null;
         }
-        StringBuilder sb = new StringBuilder(raw);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        i = sb.indexOf(" ");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf(" ");
-        }
-        if (sb.indexOf("ISTC") == 0) {
-            sb = new StringBuilder(sb.substring(4));
+        String s = StandardNumberNormalizer.DEFAULT.normalize(raw);
+        if (s.startsWith("ISTC")) {
+            s = s.substring(4);
         }
-        if (sb.length() > 15) {
+        if (s.length() > 15) {
             this.formatted = "ISTC "
-                    + sb.substring(0, 3) + "-"
-                    + sb.substring(3, 7) + "-"
-                    + sb.substring(7, 15) + "-"
-                    + sb.substring(15);
+                    + s.substring(0, 3) + "-"
+                    + s.substring(3, 7) + "-"
+                    + s.substring(7, 15) + "-"
+                    + s.substring(15);
         }
-        return sb.toString();
+        return s;
     }
 
     @Override
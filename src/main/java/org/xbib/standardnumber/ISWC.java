@@ -51,14 +51,89 @@ public class ISWC extends StandardNumber implements Cloneable, Comparable<ISWC>
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid ISWC without creating any objects.
+     * The range must contain the number only, an {@code ISWC} prefix, hyphens and spaces are skipped.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 10 || end - start > 13) {
+            return false;
+        }
+        int begin = skipPrefix(value, start, end, "ISWC");
+        int l = 0;
+        for (int i = begin; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch != '-' && ch != ' ') {
+                l++;
+            }
+        }
+        int n = 0;
+        int checksum = 1;
+        for (int i = begin; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (n > 0) {
+                if (ch < '0' || ch > '9') {
+                    return false;
+                }
+                checksum += (ch - '0') * (n < l - 1 ? n : 1);
+            } else if (!(ch >= '0' && ch <= '9' || ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z')) {
+                return false;
+            }
+            n++;
+        }
+        return checksum % 10 == 0;
+    }
+
+    /**
+     * Return the index after a prefix, with hyphens and spaces skipped.
+     *
+     * @param value the characters
+     * @param start the start index
+     * @param end the end index
+     * @param prefix the prefix
+     * @return the index after the prefix, or the start index if there is no prefix
+     */
+    private static int skipPrefix(CharSequence value, int start, int end, String prefix) {
+        int j = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch == '-' || ch == ' ') {
+                continue;
+            }
+            if (ch != prefix.charAt(j)) {
+                return start;
+            }
+            if (++j == prefix.length()) {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
     @Override
-    public ISWC verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public ISWC verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -104,27 +179,17 @@ public class ISWC extends StandardNumber implements Cloneable, Comparable<ISWC>
         if (raw == null) {
             return null;
         }
-        StringBuilder sb = new StringBuilder(raw);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        i = sb.indexOf(" ");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf(" ");
-        }
-        if (sb.indexOf("ISWC") == 0) {
-            sb = new StringBuilder(sb.substring(4));
+        String s = StandardNumberNormalizer.DEFAULT.normalize(raw);
+        if (s.startsWith("ISWC")) {
+            s = s.substring(4);
         }
-        if (sb.length() > 10) {
+        if (s.length() > 10) {
             this.formatted = "ISWC "
                     + "T-"
-                    + sb.substring(1, 10) + "-"
-                    + sb.substring(10, 11);
+                    + s.substring(1, 10) + "-"
+                    + s.substring(10, 11);
         }
-        return sb.toString();
+        return s;
     }
 
     @Override
@@ -0,0 +1,34 @@
+package org.xbib.standardnumber;
+
+/**
+ * An exception that is thrown if a standard number fails verification.
+ *
+ * The exception has no stack trace, since it is used for control flow on invalid input
+ * and not for debugging, so creating it is cheap. Use {@link StandardNumber#verifyResult()}
+ * to verify without creating an exception.
+ */
+public final class InvalidStandardNumberException extends NumberFormatException {
+
+    private static final long serialVersionUID = -2829377461043853451L;
+
+    private final transient ValidationResult result;
+
+    InvalidStandardNumberException(ValidationResult result) {
+        super(result.getMessage());
+        this.result = result;
+    }
+
+    /**
+     * Return the validation result that caused this exception.
+     *
+     * @return the validation result
+     */
+    public ValidationResult getResult() {
+        return result;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,5 +1,7 @@
 package org.xbib.standardnumber;
 
+import org.xbib.standardnumber.checksum.WeightedChecksum;
+
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.regex.Matcher;
@@ -15,6 +17,14 @@ public class PPN extends StandardNumber implements Cloneable, Comparable<PPN> {
 
     private static final Pattern PATTERN = Pattern.compile("[\\p{Digit}]{3,10}\\p{Pd}{0,1}[\\p{Digit}xX]{1}\\b");
 
+    private static final WeightedChecksum check = WeightedChecksum.builder()
+            .ascendingFromRight(2)
+            .modulus(11)
+            .complement(true)
+            .checkCharacters("0123456789X")
+            .ignoreCase(true)
+            .build();
+
     private String formatted;
 
     private boolean createWithChecksum;
@@ -53,14 +63,105 @@ public class PPN extends StandardNumber implements Cloneable, Comparable<PPN> {
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid PPN without creating any objects.
+     * The range must contain the number only, optionally with a hyphen before the check digit.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 4 || end - start > 12) {
+            return false;
+        }
+        int n = 0;
+        int sum = 0;
+        int weighted = 0;
+        int i = start;
+        for (; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                break;
+            }
+            sum += ch - '0';
+            weighted += n * (ch - '0');
+            n++;
+        }
+        if (i < end && value.charAt(i) == '-' && i == end - 2) {
+            i++;
+        } else if (i == end) {
+            // the last digit is the check digit
+            i--;
+            n--;
+            sum -= value.charAt(i) - '0';
+            weighted -= n * (value.charAt(i) - '0');
+        }
+        if (n < 3 || n > 10 || i != end - 1) {
+            return false;
+        }
+        char digit = value.charAt(i);
+        int val = digit == 'X' || digit == 'x' ? 10 : digit >= '0' && digit <= '9' ? digit - '0' : -1;
+        // weights 2, 3, 4, ... from the right
+        int checksum = (n + 1) * sum - weighted;
+        return (11 - checksum % 11) % 11 == val;
+    }
+
+    /**
+     * Pack a PPN into a long. The number of digits without the check character is kept in the bits 40 to 43,
+     * the digits as a number in the bits 0 to 39. The check character is computed again when unpacking.
+     * Packed PPNs are ordered by their number of digits first, i.e. like the numbers if there are no leading zeros.
+     *
+     * @param value the value, the number without other characters, optionally with a hyphen before the check character
+     * @return the packed PPN
+     * @throws NumberFormatException if the value is not a valid PPN
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        char last = value.charAt(value.length() - 1);
+        int n = PackedNumbers.count(value, 0, value.length()) - (last >= '0' && last <= '9' ? 1 : 0);
+        return (long) n << 40 | PackedNumbers.digits(value, 0, value.length(), n);
+    }
+
+    /**
+     * Unpack a PPN into its normalized form.
+     *
+     * @param packed the packed PPN
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed PPN
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        int n = (int) (packed >>> 40);
+        long digits = packed & 0xffffffffffL;
+        if (n < 3 || n > 10) {
+            throw new IllegalArgumentException("not a packed PPN: " + packed);
+        }
+        PackedNumbers.checkRange(digits, 0L, PackedNumbers.pow10(n), "PPN");
+        return PackedNumbers.append(out, digits, n, check.checkCharacter(check.checksum(digits, n)));
+    }
+
     @Override
-    public PPN verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public PPN verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -89,30 +190,19 @@ public class PPN extends StandardNumber implements Cloneable, Comparable<PPN> {
     }
 
     private boolean check() {
-        int checksum = 0;
-        int weight = 2;
-        int val;
         int l = value.length() - 1;
-        for (int i = l - 1; i >= 0; i--) {
-            val = value.charAt(i) - '0';
-            checksum += val * weight++;
-        }
         if (createWithChecksum) {
-            char ch = checksum % 11 == 10 ? 'X' : (char) ('0' + (checksum % 11));
-            value = value.substring(0, l) + ch;
+            int chk = check.checksum(value, 0, l);
+            if (chk < 0) {
+                return false;
+            }
+            value = value.substring(0, l) + check.checkCharacter(chk);
         }
-        return 11 - checksum % 11 ==
-                (value.charAt(l) == 'X' || value.charAt(l) == 'x' ? 10 : value.charAt(l) - '0');
+        return check.isValid(value, 0, value.length());
     }
 
     private String dehyphenate(String value) {
-        StringBuilder sb = new StringBuilder(value);
-        int i = sb.indexOf("-");
-        while (i >= 0) {
-            sb.deleteCharAt(i);
-            i = sb.indexOf("-");
-        }
-        return sb.toString();
+        return StandardNumberNormalizer.DEFAULT.normalize(value);
     }
 
     @Override
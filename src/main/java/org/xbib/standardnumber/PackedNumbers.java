@@ -0,0 +1,141 @@
+package org.xbib.standardnumber;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Helpers for packing standard numbers into primitive values and for unpacking them.
+ */
+final class PackedNumbers {
+
+    private static final long[] POWERS = new long[19];
+
+    static {
+        POWERS[0] = 1L;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * 10;
+        }
+    }
+
+    private PackedNumbers() {
+    }
+
+    /**
+     * Return a power of ten.
+     *
+     * @param n the exponent, 0 to 18
+     * @return ten to the power of n
+     */
+    static long pow10(int n) {
+        return POWERS[n];
+    }
+
+    /**
+     * Parse the leading decimal digits of a range that was already validated. Other characters are skipped.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @param count the maximum number of digits
+     * @return the digits as a number
+     */
+    static long digits(CharSequence value, int start, int end, int count) {
+        long l = 0L;
+        int n = 0;
+        for (int i = start; i < end && n < count; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                l = l * 10 + (ch - '0');
+                n++;
+            }
+        }
+        return l;
+    }
+
+    /**
+     * Count the decimal digits of a range.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the number of digits
+     */
+    static int count(CharSequence value, int start, int end) {
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Append a number with leading zeros, followed by a check character.
+     *
+     * @param out the output
+     * @param digits the number
+     * @param length the number of digits
+     * @param check the check character, or 0 for none
+     * @param <A> the output type
+     * @return the output
+     */
+    static <A extends Appendable> A append(A out, long digits, int length, char check) {
+        try {
+            for (int i = length - 1; i >= 0; i--) {
+                out.append((char) ('0' + digits / POWERS[i] % 10));
+            }
+            if (check != 0) {
+                out.append(check);
+            }
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Append characters.
+     *
+     * @param out the output
+     * @param chars the characters
+     * @param <A> the output type
+     * @return the output
+     */
+    static <A extends Appendable> A append(A out, char[] chars) {
+        try {
+            for (char ch : chars) {
+                out.append(ch);
+            }
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Return the check character of a value in the range 0 to 10, with {@code X} for 10.
+     *
+     * @param value the value
+     * @return the check character
+     */
+    static char check11(int value) {
+        return value == 10 ? 'X' : (char) ('0' + value);
+    }
+
+    /**
+     * Check that a packed value is in its range.
+     *
+     * @param packed the packed value
+     * @param min the minimum, inclusive
+     * @param max the maximum, exclusive
+     * @param type the type of the standard number
+     * @throws IllegalArgumentException if the packed value is out of range
+     */
+    static void checkRange(long packed, long min, long max, String type) {
+        if (packed < min || packed >= max) {
+            throw new IllegalArgumentException("not a packed " + type + ": " + packed);
+        }
+    }
+}
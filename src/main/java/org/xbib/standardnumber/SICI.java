@@ -1,5 +1,7 @@
 package org.xbib.standardnumber;
 
+import org.xbib.standardnumber.checksum.WeightedChecksum;
+
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.regex.Matcher;
@@ -39,7 +41,17 @@ class SICI extends StandardNumber implements Cloneable, Comparable<SICI> {
 
     private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ#";
 
-    private static final int modulus = ALPHABET.length();
+    /**
+     * Characters other than digits, letters and {@code #} have the value -1, which is 36 modulo 37.
+     */
+    private static final WeightedChecksum check = WeightedChecksum.builder()
+            .alphabet(ALPHABET)
+            .otherValue(36)
+            .weights(1, 3)
+            .modulus(37)
+            .complement(true)
+            .checkCharacters(ALPHABET)
+            .build();
 
     private String formatted;
 
@@ -74,14 +86,44 @@ class SICI extends StandardNumber implements Cloneable, Comparable<SICI> {
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid SICI without creating any objects.
+     * The range must contain the number only.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        if (end - start < 12 || end - start > 64) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch <= ' ' || ch > '~') {
+                return false;
+            }
+        }
+        return check.isValid(value, start, end);
+    }
+
     @Override
-    public SICI verify() {
+    public ValidationResult verifyResult() {
         if (value == null) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public SICI verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -112,20 +154,14 @@ class SICI extends StandardNumber implements Cloneable, Comparable<SICI> {
 
     private boolean check() {
         int l = value.length() - 1;
-        int val;
-        int sum = 0;
-        for (int i = 0; i < l; i++) {
-            val = ALPHABET.indexOf(value.charAt(i));
-            sum += val * (i % 2 == 0 ? 1 : 3);
-        }
-        int chk = modulus - sum % modulus;
         if (createWithChecksum) {
-            char ch = chk > 35 ? '#' : chk > 9 ? (char) (10 + (chk - 'A')) : (char) ('0' + chk);
-            value = value.substring(0, l) + ch;
+            int chk = check.checksum(value, 0, l);
+            if (chk < 0) {
+                return false;
+            }
+            value = value.substring(0, l) + check.checkCharacter(chk);
         }
-        char digit = value.charAt(l);
-        int chk2 = digit == '#' ? 36 : (digit >= '0' && digit <= '9') ? digit - '0' : digit - 'A' + 10;
-        return chk == chk2;
+        return check.isValid(value, 0, value.length());
     }
 
     private String clean(String raw) {
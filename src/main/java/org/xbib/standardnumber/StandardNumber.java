@@ -64,13 +64,33 @@ public abstract class StandardNumber extends StandardNumberSpi {
     public abstract boolean isValid();
 
     /**
-     * Verify the number.
+     * Verify the number. The standard numbers of this library throw the exception of
+     * the result of {@link #verifyResult()}.
      *
      * @return this standard number if verification was successful
-     * @throws NumberFormatException if verification failed
+     * @throws NumberFormatException if verification failed, usually an {@link InvalidStandardNumberException}
      */
     public abstract StandardNumber verify();
 
+    /**
+     * Verify the number without throwing an exception.
+     *
+     * The standard numbers of this library compute the result directly. This default implementation,
+     * for standard numbers that only implement {@link #verify()}, catches the exception of {@link #verify()}.
+     *
+     * @return {@link ValidationResult#VALID} if verification was successful, or the reason of the failure
+     */
+    public ValidationResult verifyResult() {
+        try {
+            verify();
+            return ValidationResult.VALID;
+        } catch (InvalidStandardNumberException e) {
+            return e.getResult();
+        } catch (NumberFormatException e) {
+            return ValidationResult.MALFORMED;
+        }
+    }
+
     /**
      * Indicate that a correct check sum should be computed.
      *
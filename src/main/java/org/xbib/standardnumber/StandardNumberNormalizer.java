@@ -0,0 +1,118 @@
+package org.xbib.standardnumber;
+
+/**
+ * A character normalizer for standard numbers.
+ *
+ * The normalizer makes one pass over the input and maps every character through a table
+ * that is precomputed for all characters of the Basic Multilingual Plane:
+ *
+ * * separators are removed, i.e. hyphens and all other Unicode dashes, the minus sign, spaces and all
+ *   other Unicode spaces and whitespace
+ *
+ * * decimal digits of all scripts, e.g. full-width digits, are mapped to ASCII digits
+ *
+ * * full-width Latin letters are mapped to ASCII letters
+ *
+ * * the lower-case check character {@code x} is mapped to {@code X}
+ *
+ * * all other characters are kept
+ *
+ * The {@link #OCR} normalizer additionally maps letters that are commonly confused with digits by
+ * optical character recognition to the digits, {@code O} and {@code o} to {@code 0},
+ * {@code I} and {@code l} to {@code 1}, and {@code S} to {@code 5}. It is only useful for numbers
+ * that consist of digits.
+ *
+ * The output is written into a character array that can be reused, so normalizing allocates nothing.
+ */
+public final class StandardNumberNormalizer {
+
+    /**
+     * The normalizer for separators, digits and the check character.
+     */
+    public static final StandardNumberNormalizer DEFAULT = new StandardNumberNormalizer(false);
+
+    /**
+     * The normalizer that also maps letters that look like digits to the digits.
+     */
+    public static final StandardNumberNormalizer OCR = new StandardNumberNormalizer(true);
+
+    /**
+     * The mapping of the table for characters that are removed.
+     */
+    private static final char REMOVE = '\uFFFF';
+
+    private static final char[] TABLE = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char ch = (char) c;
+            int type = Character.getType(ch);
+            if (type == Character.DASH_PUNCTUATION || type == Character.SPACE_SEPARATOR
+                    || ch == '\u2212' || Character.isWhitespace(ch)) {
+                TABLE[c] = REMOVE;
+            } else if (Character.isDigit(ch)) {
+                TABLE[c] = (char) ('0' + Character.digit(ch, 10));
+            } else if (ch >= '\uFF21' && ch <= '\uFF3A') {
+                TABLE[c] = (char) (ch - '\uFF21' + 'A');
+            } else if (ch >= '\uFF41' && ch <= '\uFF5A') {
+                TABLE[c] = (char) (ch - '\uFF41' + 'a');
+            } else {
+                TABLE[c] = ch;
+            }
+        }
+        TABLE['x'] = 'X';
+        TABLE['\uFF58'] = 'X';
+    }
+
+    private final char[] ascii;
+
+    private StandardNumberNormalizer(boolean ocr) {
+        this.ascii = new char[128];
+        for (char ch = 0; ch < ascii.length; ch++) {
+            ascii[ch] = ch;
+        }
+        if (ocr) {
+            ascii['O'] = '0';
+            ascii['o'] = '0';
+            ascii['I'] = '1';
+            ascii['l'] = '1';
+            ascii['S'] = '5';
+        }
+    }
+
+    /**
+     * Normalize a range of characters into a character array.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @param out the array, must have room for {@code end - start} characters
+     * @return the number of characters that were written to the array
+     */
+    public int normalize(CharSequence value, int start, int end, char[] out) {
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char ch = TABLE[value.charAt(i)];
+            if (ch < 128) {
+                out[n++] = ascii[ch];
+            } else if (ch != REMOVE) {
+                out[n++] = ch;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Normalize a value.
+     *
+     * @param value the value
+     * @return the normalized value, or null if the value is null
+     */
+    public String normalize(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        char[] out = new char[value.length()];
+        return new String(out, 0, normalize(value, 0, value.length(), out));
+    }
+}
@@ -0,0 +1,32 @@
+package org.xbib.standardnumber;
+
+import java.util.function.Supplier;
+
+/**
+ * A provider of a standard number implementation.
+ *
+ * Providers are discovered by {@link java.util.ServiceLoader} when the registry of
+ * {@link StandardNumber#getInstance(String)} is built, and register their implementation
+ * under their type. A provider can not replace a built-in type.
+ *
+ * Providers are declared in a {@code provides} clause of a module, or in a
+ * {@code META-INF/services/org.xbib.standardnumber.StandardNumberProvider} file on the class path.
+ */
+public interface StandardNumberProvider extends Supplier<StandardNumber> {
+
+    /**
+     * Return the type of the standard number implementation, e.g. {@code isbn}.
+     * The type is matched without regard to case.
+     *
+     * @return the type
+     */
+    String type();
+
+    /**
+     * Create a new instance of the standard number implementation.
+     *
+     * @return a new standard number
+     */
+    @Override
+    StandardNumber get();
+}
@@ -0,0 +1,407 @@
+package org.xbib.standardnumber;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * A scanner for standard numbers in text.
+ *
+ * The scanner reads the text once. At every word boundary, the first character selects the
+ * candidate shapes that can start there: a digit starts a number of ISBN, ISMN, ISSN, GTIN or ISNI
+ * shape, or a DOI name; an upper case letter starts an IBAN or an ISMN with the prefix M;
+ * a lower case {@code a} starts an ARK. A candidate is consumed as a whole and checked by the
+ * static {@code isValid} method of its type, so no regular expressions are run.
+ *
+ * Every candidate is reported, valid or not, with its type, offset and normalized value.
+ * Numbers may contain hyphens, or spaces in the ISNI and IBAN notation. An ISNI in the hyphenated
+ * ORCID notation is reported as {@code orcid}. Types without a distinctive shape, like ZDB or PPN,
+ * are not scanned.
+ *
+ * Byte buffers are scanned byte by byte as ASCII. Since standard numbers are ASCII, text in UTF-8
+ * or in an ISO 8859 encoding can be scanned without decoding, offsets are byte offsets then.
+ */
+public final class StandardNumberScanner {
+
+    /**
+     * The maximum length of a candidate. Longer candidates are truncated.
+     */
+    private static final int MAX_LENGTH = 256;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StandardNumberScanner() {
+    }
+
+    /**
+     * A listener for standard numbers found by the scanner.
+     */
+    public interface Listener {
+
+        /**
+         * Receive a candidate standard number.
+         *
+         * @param type the type
+         * @param offset the offset of the first character of the candidate in the text
+         * @param normalizedValue the candidate without separators
+         * @param valid true if the candidate is a valid standard number
+         */
+        void found(String type, long offset, String normalizedValue, boolean valid);
+    }
+
+    /**
+     * Scan characters.
+     *
+     * @param text the characters
+     * @param listener the listener
+     */
+    public static void scan(CharSequence text, Listener listener) {
+        scan(text, 0, text.length(), text.length(), 0L, listener);
+    }
+
+    /**
+     * Scan the characters of a reader, in blocks. The reader is not closed.
+     *
+     * @param reader the reader
+     * @param listener the listener
+     * @throws IOException if the reader fails
+     */
+    public static void scan(Reader reader, Listener listener) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int len = 0;
+        int pos = 0;
+        long base = 0L;
+        while (true) {
+            int n = reader.read(buffer, len, buffer.length - len);
+            if (n > 0) {
+                len += n;
+                if (len < buffer.length) {
+                    continue;
+                }
+            }
+            boolean eof = n < 0;
+            // candidates starting before the limit can be read up to their maximum length
+            pos = scan(CharBuffer.wrap(buffer, 0, len), pos, eof ? len : len - MAX_LENGTH, len, base, listener);
+            if (eof) {
+                return;
+            }
+            // keep the character before the scan position for the word boundary
+            int keep = Math.max(pos - 1, 0);
+            System.arraycopy(buffer, keep, buffer, 0, len - keep);
+            len -= keep;
+            pos -= keep;
+            base += keep;
+        }
+    }
+
+    /**
+     * Scan the bytes between position and limit of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer
+     * @param listener the listener
+     */
+    public static void scan(ByteBuffer buffer, Listener listener) {
+        CharSequence text = new ByteSequence(buffer, buffer.position(), buffer.remaining());
+        scan(text, 0, text.length(), text.length(), buffer.position(), listener);
+    }
+
+    /**
+     * Scan a range of characters.
+     *
+     * @param text the characters
+     * @param start the index to start at
+     * @param limit the index before which candidates may start
+     * @param end the index up to which candidates may extend
+     * @param base the offset of the characters in the text
+     * @param listener the listener
+     * @return the index to continue with
+     */
+    private static int scan(CharSequence text, int start, int limit, int end, long base, Listener listener) {
+        int i = start;
+        char prev = i > 0 ? text.charAt(i - 1) : ' ';
+        while (i < limit) {
+            char ch = text.charAt(i);
+            if (isAlnum(prev)) {
+                prev = ch;
+                i++;
+                continue;
+            }
+            int next = -1;
+            if (ch >= '0' && ch <= '9') {
+                if (ch == '1') {
+                    next = doi(text, i, end, base, listener);
+                }
+                if (next < 0) {
+                    next = number(text, i, i, end, true, base, listener);
+                }
+            } else if (ch >= 'A' && ch <= 'Z') {
+                if (ch == 'M' && i + 1 < end && (text.charAt(i + 1) == '-' || isDigit(text.charAt(i + 1)))) {
+                    next = number(text, i, text.charAt(i + 1) == '-' ? i + 2 : i + 1, end, false, base, listener);
+                } else {
+                    next = iban(text, i, end, base, listener);
+                }
+            } else if (ch == 'a') {
+                next = ark(text, i, end, base, listener);
+            }
+            if (next > i) {
+                i = next;
+                prev = text.charAt(i - 1);
+            } else {
+                prev = ch;
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Consume a number of digits, separated by hyphens or spaces, with an optional final X.
+     */
+    private static int number(CharSequence text, int start, int from, int end, boolean spaces,
+                              long base, Listener listener) {
+        int n = 0;
+        // the first four digits, for the prefixes of ISBN and ISMN
+        int head = 0;
+        int last = from;
+        boolean space = false;
+        boolean hyphen = false;
+        int j = from;
+        int max = Math.min(end, start + MAX_LENGTH);
+        while (j < max && n <= 18) {
+            char ch = text.charAt(j);
+            if (isDigit(ch)) {
+                if (n < 4) {
+                    head = head * 10 + (ch - '0');
+                }
+                n++;
+                last = ++j;
+            } else if ((ch == 'X' || ch == 'x') && n > 0) {
+                n++;
+                last = ++j;
+                break;
+            } else if ((ch == '-' || (spaces && ch == ' ')) && j == last && j + 1 < max
+                    && (isDigit(text.charAt(j + 1)) || text.charAt(j + 1) == 'X' || text.charAt(j + 1) == 'x')) {
+                space |= ch == ' ';
+                hyphen |= ch == '-';
+                j++;
+            } else {
+                break;
+            }
+        }
+        if (n == 0) {
+            return -1;
+        }
+        if (last < end && isAlnum(text.charAt(last))) {
+            // not at a word boundary, e.g. a number that ends with a letter
+            return last;
+        }
+        if (space && n != 16) {
+            // spaces only separate the groups of an ISNI
+            return number(text, start, from, end, false, base, listener);
+        }
+        String type;
+        boolean valid;
+        if (from > start) {
+            if (n != 9) {
+                return last;
+            }
+            type = "ismn";
+            valid = ISMN.isValid(text, start, last);
+        } else if (n == 8) {
+            type = "issn";
+            valid = ISSN.isValid(text, start, last);
+        } else if (n == 10) {
+            type = "isbn";
+            valid = ISBN.isValid(text, start, last);
+        } else if (n == 13 && head == 9790) {
+            type = "ismn";
+            valid = ISMN.isValid(text, start, last);
+        } else if (n == 13 && (head / 10 == 978 || head / 10 == 979)) {
+            type = "isbn";
+            valid = ISBN.isValid(text, start, last);
+        } else if (n == 12 || n == 13 || n == 14) {
+            type = "gtin";
+            valid = GTIN.isValid(text, start, last);
+        } else if (n == 16) {
+            type = hyphen && !space && last - start == 19 ? "orcid" : "isni";
+            valid = ISNI.isValid(text, start, last);
+        } else {
+            return last;
+        }
+        // the value is only created for candidates with the length of a standard number
+        char[] chars = new char[n + (from > start ? 1 : 0)];
+        int k = 0;
+        if (from > start) {
+            chars[k++] = 'M';
+        }
+        for (int i = from; i < last; i++) {
+            char ch = text.charAt(i);
+            if (ch != '-' && ch != ' ') {
+                chars[k++] = ch == 'x' ? 'X' : ch;
+            }
+        }
+        String value = new String(chars);
+        listener.found(type, base + start, value, valid);
+        return last;
+    }
+
+    /**
+     * Consume an IBAN, with optional spaces between groups of characters.
+     */
+    private static int iban(CharSequence text, int start, int end, long base, Listener listener) {
+        if (start + 4 > end || !isUpper(text.charAt(start + 1))
+                || !isDigit(text.charAt(start + 2)) || !isDigit(text.charAt(start + 3))) {
+            return -1;
+        }
+        int length = IBAN.getLengthForCountryCode(text.subSequence(start, start + 2).toString());
+        int max = length > 0 ? length : 34;
+        StringBuilder sb = new StringBuilder(max);
+        int j = start;
+        int last = start;
+        while (j < end && sb.length() < max) {
+            char ch = text.charAt(j);
+            if (isDigit(ch) || isUpper(ch)) {
+                sb.append(ch);
+                last = ++j;
+            } else if (ch == ' ' && j == last && j + 1 < end
+                    && (isDigit(text.charAt(j + 1)) || isUpper(text.charAt(j + 1)))) {
+                j++;
+            } else {
+                break;
+            }
+        }
+        if (sb.length() < 15 || (length > 0 && sb.length() != length)
+                || (last < end && isAlnum(text.charAt(last)))) {
+            return -1;
+        }
+        listener.found("iban", base + start, sb.toString(), length > 0 && IBAN.isValid(text, start, last));
+        return last;
+    }
+
+    /**
+     * Consume a DOI name, i.e. {@code 10.} and a registrant code of at least four digits,
+     * a slash and a suffix up to the next white space.
+     */
+    private static int doi(CharSequence text, int start, int end, long base, Listener listener) {
+        if (start + 3 >= end || text.charAt(start + 1) != '0' || text.charAt(start + 2) != '.') {
+            return -1;
+        }
+        int max = Math.min(end, start + MAX_LENGTH);
+        int j = start + 3;
+        while (j < max && isDigit(text.charAt(j))) {
+            j++;
+        }
+        if (j - start < 7) {
+            return -1;
+        }
+        while (j + 1 < max && text.charAt(j) == '.' && isDigit(text.charAt(j + 1))) {
+            j++;
+            while (j < max && isDigit(text.charAt(j))) {
+                j++;
+            }
+        }
+        if (j >= max || text.charAt(j) != '/') {
+            return -1;
+        }
+        int last = suffix(text, j + 1, max);
+        if (last <= j + 1) {
+            return -1;
+        }
+        StringBuilder sb = new StringBuilder(last - start);
+        for (int i = start; i < last; i++) {
+            sb.append(Character.toLowerCase(text.charAt(i)));
+        }
+        listener.found("doi", base + start, sb.toString(), DOI.isValid(text, start, last));
+        return last;
+    }
+
+    /**
+     * Consume an ARK, i.e. {@code ark:} and a name up to the next white space.
+     */
+    private static int ark(CharSequence text, int start, int end, long base, Listener listener) {
+        if (start + 4 >= end || text.charAt(start + 1) != 'r' || text.charAt(start + 2) != 'k'
+                || text.charAt(start + 3) != ':') {
+            return -1;
+        }
+        int last = suffix(text, start + 4, Math.min(end, start + MAX_LENGTH));
+        if (last <= start + 4) {
+            return -1;
+        }
+        listener.found("ark", base + start, text.subSequence(start, last).toString(),
+                ARK.isValid(text, start, last));
+        return last;
+    }
+
+    /**
+     * Return the end of a name, i.e. the index of the next white space or quote, without trailing punctuation.
+     */
+    private static int suffix(CharSequence text, int from, int end) {
+        int j = from;
+        while (j < end) {
+            char ch = text.charAt(j);
+            if (ch <= ' ' || ch == '"' || ch == '\'' || ch > '~') {
+                break;
+            }
+            j++;
+        }
+        while (j > from && !isAlnum(text.charAt(j - 1)) && text.charAt(j - 1) != '/') {
+            j--;
+        }
+        return j;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isUpper(char ch) {
+        return ch >= 'A' && ch <= 'Z';
+    }
+
+    private static boolean isAlnum(char ch) {
+        return ch >= '0' && ch <= '9' || ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z';
+    }
+
+    /**
+     * A view of bytes as characters in ISO 8859-1.
+     */
+    private static final class ByteSequence implements CharSequence {
+
+        private final ByteBuffer buffer;
+
+        private final int offset;
+
+        private final int length;
+
+        ByteSequence(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new ByteSequence(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = charAt(i);
+            }
+            return new String(chars);
+        }
+    }
+}
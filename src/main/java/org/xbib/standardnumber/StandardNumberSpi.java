@@ -1,13 +1,41 @@
 package org.xbib.standardnumber;
 
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  */
 abstract class StandardNumberSpi {
 
+    /**
+     * Create a new standard number instance from the registry of types.
+     * The registry contains the built-in types and the types of all
+     * {@link StandardNumberProvider}s found by {@link ServiceLoader}, and is built once.
+     *
+     * @param type the type, matched without regard to case
+     * @return a new standard number
+     * @throws NoSuchStandardNumberException if there is no such type
+     */
     public static StandardNumber getInstance(String type) throws NoSuchStandardNumberException {
-        return getInstance(StandardNumberSpi.class.getPackage(), StandardNumberSpi.class.getClassLoader(), type);
+        Supplier<StandardNumber> supplier = Registry.SUPPLIERS.get(type.toLowerCase(Locale.ROOT));
+        if (supplier == null) {
+            throw new NoSuchStandardNumberException(type);
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Return the types of the registry.
+     *
+     * @return the types, in lowercase
+     */
+    public static Set<String> getTypes() {
+        return Registry.SUPPLIERS.keySet();
     }
 
     @SuppressWarnings("unchecked")
@@ -36,4 +64,38 @@ abstract class StandardNumberSpi {
             throw new CloneNotSupportedException();
         }
     }
+
+    /**
+     * The registry of types, built on first use.
+     */
+    private static final class Registry {
+
+        private static final Map<String, Supplier<StandardNumber>> SUPPLIERS = create();
+
+        private static Map<String, Supplier<StandardNumber>> create() {
+            Map<String, Supplier<StandardNumber>> map = new TreeMap<>();
+            map.put("ark", ARK::new);
+            map.put("doi", DOI::new);
+            map.put("ean", EAN::new);
+            map.put("gtin", GTIN::new);
+            map.put("iban", IBAN::new);
+            map.put("isan", ISAN::new);
+            map.put("isbn", ISBN::new);
+            map.put("ismn", ISMN::new);
+            map.put("isni", ISNI::new);
+            map.put("issn", ISSN::new);
+            map.put("istc", ISTC::new);
+            map.put("iswc", ISWC::new);
+            map.put("orcid", ORCID::new);
+            map.put("ppn", PPN::new);
+            map.put("sici", SICI::new);
+            map.put("upc", UPC::new);
+            map.put("zdb", ZDB::new);
+            for (StandardNumberProvider provider :
+                    ServiceLoader.load(StandardNumberProvider.class, StandardNumberSpi.class.getClassLoader())) {
+                map.putIfAbsent(provider.type().toLowerCase(Locale.ROOT), provider);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    }
 }
@@ -0,0 +1,374 @@
+package org.xbib.standardnumber;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bulk operations on standard numbers.
+ *
+ * A batch is validated in parallel on a {@link ForkJoinPool}. The input is split into chunks,
+ * and every chunk is processed on one thread with one standard number instance that is reset and
+ * reused for each value. The results are returned in columns: a {@link BitSet} of valid flags
+ * and an array of normalized values, both indexed like the input.
+ *
+ * A value is valid if {@link StandardNumber#isValid()} returns true after
+ * {@link StandardNumber#set(CharSequence)} and {@link StandardNumber#normalize()}.
+ * Null values and values that can not be normalized are invalid.
+ */
+public final class StandardNumbers {
+
+    /**
+     * The number of values below which a chunk is not split further. A multiple of 64,
+     * so chunks never share a word of the valid flags.
+     */
+    private static final int THRESHOLD = 4096;
+
+    /**
+     * The standard number instances of the normalized streams, by type, one map per thread.
+     */
+    private static final ThreadLocal<Map<String, StandardNumber>> SCRATCH = ThreadLocal.withInitial(HashMap::new);
+
+    private StandardNumbers() {
+    }
+
+    /**
+     * Validate a list of values.
+     *
+     * @param type the standard number type
+     * @param in the values
+     * @param validOut the valid flags, bit i is set if value i is valid and cleared otherwise
+     * @return the valid flags
+     * @throws NoSuchStandardNumberException if there is no such type
+     */
+    public static BitSet validate(String type, List<? extends CharSequence> in, BitSet validOut)
+            throws NoSuchStandardNumberException {
+        return validate(type, in, validOut, null);
+    }
+
+    /**
+     * Validate and normalize a list of values.
+     *
+     * @param type the standard number type
+     * @param in the values
+     * @param validOut the valid flags, bit i is set if value i is valid and cleared otherwise
+     * @param normalizedOut the normalized values, at least as long as the input, element i is set to the
+     *                      normalized value if value i is valid and to null otherwise, or null if not required
+     * @return the valid flags
+     * @throws NoSuchStandardNumberException if there is no such type
+     */
+    public static BitSet validate(String type, List<? extends CharSequence> in, BitSet validOut,
+                                  String[] normalizedOut) throws NoSuchStandardNumberException {
+        return validate(ForkJoinPool.commonPool(), type, in, validOut, normalizedOut);
+    }
+
+    /**
+     * Validate and normalize a list of values in a pool.
+     *
+     * @param pool the pool
+     * @param type the standard number type
+     * @param in the values
+     * @param validOut the valid flags, bit i is set if value i is valid and cleared otherwise
+     * @param normalizedOut the normalized values, at least as long as the input, element i is set to the
+     *                      normalized value if value i is valid and to null otherwise, or null if not required
+     * @return the valid flags
+     * @throws NoSuchStandardNumberException if there is no such type
+     */
+    public static BitSet validate(ForkJoinPool pool, String type, List<? extends CharSequence> in,
+                                  BitSet validOut, String[] normalizedOut) throws NoSuchStandardNumberException {
+        if (in instanceof RandomAccess) {
+            return validate(pool, type, in::get, in.size(), validOut, normalizedOut);
+        }
+        CharSequence[] values = in.toArray(new CharSequence[0]);
+        return validate(pool, type, i -> values[i], values.length, validOut, normalizedOut);
+    }
+
+    /**
+     * Validate and normalize an array of values.
+     *
+     * @param type the standard number type
+     * @param in the values
+     * @param validOut the valid flags, bit i is set if value i is valid and cleared otherwise
+     * @param normalizedOut the normalized values, at least as long as the input, element i is set to the
+     *                      normalized value if value i is valid and to null otherwise, or null if not required
+     * @return the valid flags
+     * @throws NoSuchStandardNumberException if there is no such type
+     */
+    public static BitSet validate(String type, CharSequence[] in, BitSet validOut, String[] normalizedOut)
+            throws NoSuchStandardNumberException {
+        return validate(ForkJoinPool.commonPool(), type, i -> in[i], in.length, validOut, normalizedOut);
+    }
+
+    /**
+     * Validate and normalize a stream of values. The stream keeps its order and parallelism,
+     * every thread of the stream reuses one standard number instance per type.
+     *
+     * @param type the standard number type
+     * @param in the values
+     * @return a stream of the normalized values, with null for invalid values
+     * @throws NoSuchStandardNumberException if there is no such type
+     */
+    public static Stream<String> normalize(String type, Stream<? extends CharSequence> in)
+            throws NoSuchStandardNumberException {
+        Supplier<StandardNumber> supplier = supplier(type);
+        return in.map(value -> normalize(SCRATCH.get().computeIfAbsent(type, t -> supplier.get()), value));
+    }
+
+    /**
+     * Verify the check digits of a batch of codes with the GTIN check digit, i.e. GTIN-8, UPC, EAN-13,
+     * ISBN-13, ISMN and GTIN-14 codes. The codes are given as ASCII digits of a fixed width, one after the
+     * other, e.g. a column of a columnar file. A code is valid if it consists of digits and its check digit is
+     * correct. Prefixes like 978 of ISBN-13 are not checked.
+     *
+     * On Java 17 and later, the codes are verified with the Vector API if the module
+     * {@code jdk.incubator.vector} is present, e.g. with {@code --add-modules jdk.incubator.vector}.
+     *
+     * @param codes the codes
+     * @param width the width of a code, from 2 to 18
+     * @param validOut the valid flags, bit i is set if code i is valid and cleared otherwise
+     * @return the valid flags
+     */
+    public static BitSet verifyGTIN(byte[] codes, int width, BitSet validOut) {
+        Objects.requireNonNull(validOut);
+        if (width < 2 || width > 18) {
+            throw new IllegalArgumentException("width out of range: " + width);
+        }
+        if (codes.length % width != 0) {
+            throw new IllegalArgumentException("codes array length is not a multiple of the width: " + codes.length);
+        }
+        int count = codes.length / width;
+        long[] words = new long[(count + 63) >>> 6];
+        int[] weights = new int[width];
+        for (int j = 0; j < width; j++) {
+            weights[j] = ((width - 1 - j) & 1) == 0 ? 1 : 3;
+        }
+        for (int c = GTINChecksums.verify(codes, count, width, words), offset = c * width; c < count; c++) {
+            int sum = 0;
+            int bad = 0;
+            for (int j = 0; j < width; j++, offset++) {
+                int d = codes[offset] - '0';
+                // negative if the character is not a digit
+                bad |= d | (9 - d);
+                sum += weights[j] * d;
+            }
+            if (bad >= 0 && sum % 10 == 0) {
+                words[c >>> 6] |= 1L << c;
+            }
+        }
+        validOut.clear(0, count);
+        validOut.or(BitSet.valueOf(words));
+        return validOut;
+    }
+
+    /**
+     * Detect the types of a standard number without a type. The input is classified in one pass
+     * by its length, its character classes and its prefix, and only the types that fit are
+     * confirmed by their check digits, without creating any standard number instances.
+     *
+     * The types are ranked by how specific they are. Types with a prefix, like ISBN with 978 or 979,
+     * ISMN with 9790 or M, or IBAN with a country code, come before types that are only recognized
+     * by their length, like GTIN, and types with weak check digits, like ZDB and PPN, come last.
+     * A type is only detected if {@link StandardNumber#isValid()} is true after
+     * {@link StandardNumber#set(CharSequence)} and {@link StandardNumber#normalize()} of the type,
+     * except for an ISSN in a GTIN-13 with the prefix 977, which is detected as ISSN if the GTIN is valid.
+     * The ISSN of such a GTIN is the digits 4 to 10 with their ISSN check character,
+     * see {@link ISSNValue#toGTIN()}.
+     *
+     * @param value the value, surrounding whitespace is ignored
+     * @return the detected types, most specific first, or an empty list
+     */
+    public static List<String> detect(CharSequence value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+        int digits = 0;
+        int upper = 0;
+        int lower = 0;
+        int separators = 0;
+        int others = 0;
+        int letter = -1;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+            } else if (ch >= 'A' && ch <= 'Z') {
+                upper++;
+                letter = i;
+            } else if (ch >= 'a' && ch <= 'z') {
+                lower++;
+                letter = i;
+            } else if (ch == '-' || ch == ' ') {
+                separators++;
+            } else {
+                others++;
+            }
+        }
+        List<String> types = new ArrayList<>(4);
+        if (others > 0) {
+            // only URI-like identifiers have punctuation
+            add(types, "doi", DOI.isValid(value, start, end));
+            add(types, "ark", lower > 0 && ARK.isValid(value, start, end));
+            add(types, "sici", lower == 0 && SICI.isValid(value, start, end));
+            return types;
+        }
+        int length = digits + upper + lower;
+        if (length == 0) {
+            return types;
+        }
+        char first = value.charAt(start);
+        // digits with an optional check character X at the end
+        boolean numeric = upper + lower == 0
+                || upper + lower == 1 && letter == end - 1 && (value.charAt(letter) | 0x20) == 'x';
+        boolean digitsOnly = upper + lower == 0;
+        add(types, "iban", lower == 0 && upper >= 2 && length >= 15 && length <= 34
+                && first >= 'A' && first <= 'Z' && IBAN.isValid(value, start, end));
+        add(types, "ismn", (first == 'M' && upper == 1 && length == 10
+                || digitsOnly && length == 13 && startsWith(value, start, end, "9790"))
+                && ISMN.isValid(value, start, end));
+        add(types, "isbn", numeric && (length == 10 || length == 13) && ISBN.isValid(value, start, end));
+        add(types, "issn", numeric && length == 8 && ISSN.isValid(value, start, end)
+                || digitsOnly && length == 13 && startsWith(value, start, end, "977")
+                && GTIN.isValid(value, start, end));
+        if (numeric && length == 16 && ISNI.isValid(value, start, end)) {
+            // ORCID is usually written in groups of four digits with hyphens
+            boolean orcid = value.charAt(start + 4) == '-';
+            types.add(orcid ? "orcid" : "isni");
+            types.add(orcid ? "isni" : "orcid");
+        }
+        add(types, "iswc", lower == 0 && first == 'T' && length == 11 && ISWC.isValid(value, start, end));
+        add(types, "istc", lower == 0 && (length == 16 || length == 20) && ISTC.isValid(value, start, end));
+        add(types, "isan", lower == 0 && length >= 16 && length <= 26 && ISAN.isValid(value, start, end));
+        if (digitsOnly && (length == 8 || length >= 12 && length <= 14)) {
+            boolean gtin = GTIN.isValid(value, start, end);
+            add(types, "gtin", gtin);
+            add(types, "ean", gtin && length == 13 && EAN.isValid(value, start, end));
+            add(types, "upc", gtin && length == 12 && UPC.isValid(value, start, end));
+        }
+        add(types, "zdb", numeric && length <= 11 && ZDB.isValid(value, start, end));
+        add(types, "ppn", numeric && length <= 11 && PPN.isValid(value, start, end));
+        return types;
+    }
+
+    private static void add(List<String> types, String type, boolean valid) {
+        if (valid) {
+            types.add(type);
+        }
+    }
+
+    private static boolean startsWith(CharSequence value, int start, int end, String prefix) {
+        int n = 0;
+        for (int i = start; i < end && n < prefix.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch != '-' && ch != ' ') {
+                if (ch != prefix.charAt(n++)) {
+                    return false;
+                }
+            }
+        }
+        return n == prefix.length();
+    }
+
+    private static BitSet validate(ForkJoinPool pool, String type, IntFunction<? extends CharSequence> in,
+                                   int size, BitSet validOut, String[] normalizedOut)
+            throws NoSuchStandardNumberException {
+        Objects.requireNonNull(validOut);
+        if (normalizedOut != null && normalizedOut.length < size) {
+            throw new IllegalArgumentException("normalized values array too short: " + normalizedOut.length);
+        }
+        long[] words = new long[(size + 63) >>> 6];
+        pool.invoke(new Chunk(supplier(type), in, 0, size, words, normalizedOut));
+        validOut.clear(0, size);
+        validOut.or(BitSet.valueOf(words));
+        return validOut;
+    }
+
+    private static Supplier<StandardNumber> supplier(String type) throws NoSuchStandardNumberException {
+        // fail early if there is no such type
+        StandardNumber.getInstance(type);
+        return () -> {
+            try {
+                return StandardNumber.getInstance(type);
+            } catch (NoSuchStandardNumberException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static String normalize(StandardNumber standardNumber, CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            standardNumber.reset();
+            return standardNumber.set(value).normalize().isValid() ? standardNumber.normalizedValue() : null;
+        } catch (RuntimeException e) {
+            // malformed input must not abort a batch
+            return null;
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Supplier<StandardNumber> supplier;
+
+        private final transient IntFunction<? extends CharSequence> in;
+
+        private final int from;
+
+        private final int to;
+
+        private final long[] words;
+
+        private final String[] normalizedOut;
+
+        Chunk(Supplier<StandardNumber> supplier, IntFunction<? extends CharSequence> in, int from, int to,
+              long[] words, String[] normalizedOut) {
+            this.supplier = supplier;
+            this.in = in;
+            this.from = from;
+            this.to = to;
+            this.words = words;
+            this.normalizedOut = normalizedOut;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int mid = (from + (to - from) / 2) & ~63;
+                invokeAll(new Chunk(supplier, in, from, mid, words, normalizedOut),
+                        new Chunk(supplier, in, mid, to, words, normalizedOut));
+                return;
+            }
+            StandardNumber standardNumber = supplier.get();
+            for (int i = from; i < to; i++) {
+                String normalized = normalize(standardNumber, in.apply(i));
+                if (normalized != null) {
+                    words[i >>> 6] |= 1L << i;
+                }
+                if (normalizedOut != null) {
+                    normalizedOut[i] = normalized;
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.xbib.standardnumber;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -57,14 +58,103 @@ public class UPC extends StandardNumber implements Cloneable, Comparable<UPC> {
         return value != null && !value.isEmpty() && check();
     }
 
+    /**
+     * Check a range of characters for a valid UPC without creating any objects.
+     * The range must contain the digits of the number only.
+     * For such input, the result is the same as from {@link #isValid()} after
+     * {@link #set(CharSequence)} and {@link #normalize()}.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(CharSequence value, int start, int end) {
+        int n = end - start;
+        if (n < 1 || n > 12) {
+            return false;
+        }
+        int checksum = 0;
+        for (int i = 0; i < n; i++) {
+            char ch = value.charAt(start + i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+            // the check digit has weight 1
+            checksum += (i == n - 1 || i % 2 != 0 ? 1 : 3) * (ch - '0');
+        }
+        return checksum % 10 == 0;
+    }
+
+    /**
+     * Check a range of bytes for a UPC, e.g. in UTF-8 input, without decoding the bytes.
+     * A number of digits only is checked eight bytes at a time.
+     * The result is the same as from {@link #isValid(CharSequence, int, int)} for the decoded bytes.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if valid, false otherwise
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static boolean isValid(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        if (length == 12) {
+            int checksum = AsciiDigits.gtinChecksum(value, offset, length);
+            if (checksum >= 0) {
+                return checksum % 10 == 0;
+            }
+        }
+        return isValid(AsciiDigits.view(value, offset, length), 0, length);
+    }
+
+    /**
+     * Pack a UPC into a long. The long is the UPC as a number, including the check digit,
+     * so packed UPCs are ordered like their normalized values.
+     *
+     * @param value the value, the 12 digits without other characters
+     * @return the packed UPC
+     * @throws NumberFormatException if the value is not a valid UPC
+     */
+    public static long pack(CharSequence value) {
+        if (!isValid(value, 0, value.length())) {
+            throw ValidationResult.INVALID.exception();
+        }
+        if (value.length() != 12) {
+            throw ValidationResult.BAD_LENGTH.exception();
+        }
+        return PackedNumbers.digits(value, 0, value.length(), 12);
+    }
+
+    /**
+     * Unpack a UPC into its normalized form.
+     *
+     * @param packed the packed UPC
+     * @param out the output
+     * @param <A> the output type
+     * @return the output
+     * @throws IllegalArgumentException if the value is not a packed UPC
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    public static <A extends Appendable> A unpack(long packed, A out) {
+        PackedNumbers.checkRange(packed, 0L, PackedNumbers.pow10(12), "UPC");
+        return PackedNumbers.append(out, packed, 12, (char) 0);
+    }
+
     @Override
-    public UPC verify() {
+    public ValidationResult verifyResult() {
         if (value == null || value.isEmpty()) {
-            throw new NumberFormatException("invalid");
+            return ValidationResult.MALFORMED;
         }
         if (!check()) {
-            throw new NumberFormatException("bad checksum");
+            return ValidationResult.BAD_CHECKSUM;
         }
+        return ValidationResult.VALID;
+    }
+
+    @Override
+    public UPC verify() {
+        verifyResult().throwIfInvalid();
         return this;
     }
 
@@ -102,7 +192,7 @@ public class UPC extends StandardNumber implements Cloneable, Comparable<UPC> {
             weight = i % 2 == 0 ? 3 : 1;
             checksum += val * weight;
         }
-        int chk = 10 - checksum % 10;
+        int chk = (10 - checksum % 10) % 10;
         if (createWithChecksum) {
             char ch = (char) ('0' + chk);
             value = value.substring(0, l) + ch;
@@ -0,0 +1,97 @@
+package org.xbib.standardnumber;
+
+/**
+ * The result of verifying a standard number, see {@link StandardNumber#verifyResult()}.
+ *
+ * The standard numbers compute the result directly, so rejecting invalid input with
+ * {@link StandardNumber#verifyResult()} neither throws nor allocates. {@link StandardNumber#verify()}
+ * throws an {@link InvalidStandardNumberException} without a stack trace for every result except {@link #VALID}.
+ */
+public enum ValidationResult {
+
+    /**
+     * The number is valid.
+     */
+    VALID("valid", true),
+
+    /**
+     * No number was found in the input, or the input is missing.
+     */
+    MALFORMED("malformed", false),
+
+    /**
+     * The number has the wrong length.
+     */
+    BAD_LENGTH("bad length", false),
+
+    /**
+     * The number contains a character that is not allowed.
+     */
+    BAD_CHARACTER("bad character", false),
+
+    /**
+     * The check digit does not match.
+     */
+    BAD_CHECKSUM("bad checksum", false),
+
+    /**
+     * The country code is not known.
+     */
+    UNKNOWN_COUNTRY("unknown country", false),
+
+    /**
+     * The number is invalid for another reason.
+     */
+    INVALID("invalid", false);
+
+    private final String message;
+
+    private final boolean valid;
+
+    ValidationResult(String message, boolean valid) {
+        this.message = message;
+        this.valid = valid;
+    }
+
+    /**
+     * Return true if the number is valid.
+     *
+     * @return true if valid, false otherwise
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Return a message that describes this result.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Throw an exception for this result if the number is not valid.
+     *
+     * @throws InvalidStandardNumberException if the result is not {@link #VALID}
+     */
+    public void throwIfInvalid() {
+        if (!valid) {
+            throw new InvalidStandardNumberException(this);
+        }
+    }
+
+    /**
+     * Create an exception for this result.
+     *
+     * @return the exception
+     * @throws IllegalStateException if the result is {@link #VALID}
+     */
+    public InvalidStandardNumberException exception() {
+        if (valid) {
+            throw new IllegalStateException("valid");
+        }
+        return new InvalidStandardNumberException(this);
+    }
+}
@@ -1,5 +1,7 @@
 package org.xbib.standardnumber.checksum;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  *
  */
@@ -44,4 +46,52 @@ public interface Digit {
      * @return a string without check digits
      */
     String getNumber(String digits);
+
+    /**
+     * Verify a range of characters that has been encoded with a check digit, without copying the range.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if valid, false otherwise
+     */
+    default boolean verify(CharSequence value, int start, int end) {
+        return verify(value.subSequence(start, end).toString());
+    }
+
+    /**
+     * Computes the check digit value of a range of characters, without copying the range.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return an integer representing the check digit
+     */
+    default int compute(CharSequence value, int start, int end) {
+        return compute(value.subSequence(start, end).toString());
+    }
+
+    /**
+     * Verify a range of ASCII characters that has been encoded with a check digit, without decoding the range.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if valid, false otherwise
+     */
+    default boolean verify(byte[] value, int offset, int length) {
+        return verify(new String(value, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Computes the check digit value of a range of ASCII characters, without decoding the range.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return an integer representing the check digit
+     */
+    default int compute(byte[] value, int offset, int length) {
+        return compute(new String(value, offset, length, StandardCharsets.ISO_8859_1));
+    }
 }
@@ -1,12 +1,30 @@
 package org.xbib.standardnumber.checksum;
 
+import java.util.BitSet;
+import java.util.Objects;
+
 /**
  * Verhoeff's algorithm for checksum computation.
  *
  * J. Verhoeff, Error Detecting Decimal Codes, Mathematical Centre Tract 29, The Mathematical Centre, Amsterdam, 1969
+ *
+ * The check digit is in front of the data digits. The permutation of a position and the dihedral addition
+ * are combined into one flattened table of state transitions, and the state of a computation, the position
+ * modulo 8 and the dihedral sum, fits into an int, so a number can be checked while its digits are appended,
+ * see {@link #update(int, CharSequence, int, int)}.
  */
 public class DihedralGroup implements Digit {
 
+    /**
+     * The state before the first digit of a number with its check digit.
+     */
+    public static final int START = 0;
+
+    /**
+     * The state before the first data digit of a number without its check digit, for computing the check digit.
+     */
+    public static final int DATA_START = 10;
+
     /**
      * The dihedral addition matrix A + B = a[A][B].
      */
@@ -23,7 +41,7 @@ public class DihedralGroup implements Digit {
     private static final int[] inverse = {0, 4, 3, 2, 1, 5, 6, 7, 8, 9};
 
     /**
-     * pThe ermutation weighting matrix P[position][value].
+     * The permutation weighting matrix P[position][value].
      */
     private static final int[][] p = {{0, 1, 2, 3, 4, 5, 6, 7, 8, 9},
             {1, 5, 7, 6, 2, 8, 3, 0, 9, 4}, {5, 8, 0, 3, 7, 9, 6, 1, 4, 2},
@@ -31,6 +49,22 @@ public class DihedralGroup implements Digit {
             {4, 2, 8, 6, 5, 7, 3, 9, 0, 1}, {2, 7, 9, 3, 8, 0, 6, 4, 1, 5},
             {7, 0, 4, 6, 9, 1, 3, 2, 5, 8}};
 
+    /**
+     * The next state for a state and a digit, at index 16 * state + digit. A state is 10 * position + sum,
+     * with the position modulo 8 and the dihedral sum of the digits. The rows are padded to 16,
+     * so a digit can be masked to a valid index before it is checked.
+     */
+    private static final byte[] NEXT = new byte[80 * 16];
+
+    static {
+        for (int position = 0; position < 8; position++) {
+            for (int sum = 0; sum < 10; sum++) {
+                for (int d = 0; d < 10; d++) {
+                    NEXT[16 * (10 * position + sum) + d] = (byte) (10 * ((position + 1) % 8) + a[sum][p[position][d]]);
+                }
+            }
+        }
+    }
 
     @Override
     public String encode(String digits) {
@@ -39,21 +73,40 @@ public class DihedralGroup implements Digit {
 
     @Override
     public boolean verify(String digits) {
-        int check = 0;
-        for (int i = 0; i < digits.length(); ++i) {
-            check = a[check][p[i % 8][digits.charAt(i) - '0']];
-        }
-        return check == 0;
+        return verify(digits, 0, digits.length());
     }
 
     @Override
     public int compute(String digits) {
-        int check = 0;
-        for (int i = 0; i < digits.length(); ++i) {
-            int c = digits.charAt(i) - '0';
-            check = a[check][p[(i + 1) % 8][c]];
+        return compute(digits, 0, digits.length());
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        return isValid(update(START, value, start, end));
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        int state = update(DATA_START, value, start, end);
+        if (state < 0) {
+            throw new NumberFormatException("not a digit in " + value.subSequence(start, end));
         }
-        return inverse[check];
+        return checkDigit(state);
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        return isValid(update(START, value, offset, length));
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
+        int state = update(DATA_START, value, offset, length);
+        if (state < 0) {
+            throw new NumberFormatException("not a digit");
+        }
+        return checkDigit(state);
     }
 
     @Override
@@ -65,4 +118,155 @@ public class DihedralGroup implements Digit {
     public String getNumber(String digits) {
         return digits.substring(1);
     }
+
+    /**
+     * Continue a computation with a range of digits. The state of a concatenation is computed by passing
+     * the result of one range as the state of the next range, starting with {@link #START} for a number with
+     * its check digit, or with {@link #DATA_START} for a number without its check digit.
+     *
+     * @param state the state after the preceding digits
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the state, or -1 if the range contains other characters or the state is invalid
+     */
+    public static int update(int state, CharSequence value, int start, int end) {
+        if (state < 0 || state >= 80) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            int d = value.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            state = NEXT[state << 4 | d];
+        }
+        return state;
+    }
+
+    /**
+     * Continue a computation with a range of ASCII digits.
+     *
+     * @param state the state after the preceding digits
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the state, or -1 if the range contains other bytes or the state is invalid
+     */
+    public static int update(int state, byte[] value, int offset, int length) {
+        if (state < 0 || state >= 80) {
+            return -1;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            int d = value[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            state = NEXT[state << 4 | d];
+        }
+        return state;
+    }
+
+    /**
+     * Return true if the digits of a state, starting with {@link #START}, are valid.
+     *
+     * @param state the state
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(int state) {
+        return state >= 0 && state < 80 && state % 10 == 0;
+    }
+
+    /**
+     * Return the check digit of the data digits of a state, starting with {@link #DATA_START}.
+     *
+     * @param state the state
+     * @return the check digit
+     * @throws IllegalArgumentException if the state is invalid
+     */
+    public static int checkDigit(int state) {
+        if (state < 0 || state >= 80) {
+            throw new IllegalArgumentException("invalid state: " + state);
+        }
+        return inverse[state % 10];
+    }
+
+    /**
+     * Verify a batch of numbers with their check digit in front, given as ASCII digits of a fixed width,
+     * one after the other.
+     *
+     * @param codes the numbers
+     * @param width the width of a number
+     * @param validOut the valid flags, bit i is set if number i is valid and cleared otherwise
+     * @return the valid flags
+     */
+    public static BitSet verifyAll(byte[] codes, int width, BitSet validOut) {
+        Objects.requireNonNull(validOut);
+        if (width < 1) {
+            throw new IllegalArgumentException("width out of range: " + width);
+        }
+        if (codes.length % width != 0) {
+            throw new IllegalArgumentException("codes array length is not a multiple of the width: " + codes.length);
+        }
+        int count = codes.length / width;
+        long[] words = new long[(count + 63) >>> 6];
+        for (int c = 0, offset = 0; c < count; c++) {
+            int state = START;
+            int bad = 0;
+            for (int j = 0; j < width; j++, offset++) {
+                int d = codes[offset] - '0';
+                // negative if the character is not a digit
+                bad |= d | (9 - d);
+                state = NEXT[state << 4 | (d & 15)];
+            }
+            if (bad >= 0 && state % 10 == 0) {
+                words[c >>> 6] |= 1L << c;
+            }
+        }
+        validOut.clear(0, count);
+        validOut.or(BitSet.valueOf(words));
+        return validOut;
+    }
+
+    /**
+     * Verify a batch of numbers with their check digit in front, given as longs of a fixed number of digits,
+     * with leading zeros if the number is smaller.
+     *
+     * @param numbers the numbers
+     * @param width the number of digits of a number, from 1 to 18
+     * @param validOut the valid flags, bit i is set if number i is valid and cleared otherwise
+     * @return the valid flags
+     */
+    public static BitSet verifyAll(long[] numbers, int width, BitSet validOut) {
+        Objects.requireNonNull(validOut);
+        if (width < 1 || width > 18) {
+            throw new IllegalArgumentException("width out of range: " + width);
+        }
+        long limit = 1L;
+        for (int j = 0; j < width; j++) {
+            limit *= 10L;
+        }
+        long[] words = new long[(numbers.length + 63) >>> 6];
+        int[] digits = new int[width];
+        for (int c = 0; c < numbers.length; c++) {
+            long n = numbers[c];
+            if (n < 0L || n >= limit) {
+                continue;
+            }
+            // the dihedral sum depends on the order of the digits, so they are taken from the left
+            for (int j = width - 1; j >= 0; j--, n /= 10L) {
+                digits[j] = (int) (n % 10L);
+            }
+            int state = START;
+            for (int j = 0; j < width; j++) {
+                state = NEXT[state << 4 | digits[j]];
+            }
+            if (state % 10 == 0) {
+                words[c >>> 6] |= 1L << c;
+            }
+        }
+        validOut.clear(0, numbers.length);
+        validOut.or(BitSet.valueOf(words));
+        return validOut;
+    }
 }
@@ -1,10 +1,59 @@
 package org.xbib.standardnumber.checksum;
 
+import java.util.BitSet;
+import java.util.Objects;
+
 /**
+ * The Luhn algorithm, or MOD 10 algorithm, with the digits at odd positions from the left doubled.
  *
+ * The digits are summed with a flattened table of the digits and the doubled digits, and the state of a
+ * computation, the sum modulo 10 and the position of the next digit, fits into an int, so a number can be
+ * checked while its digits are appended, see {@link #update(int, CharSequence, int, int)}.
  */
 public class LuhnMOD10 implements Digit {
 
+    /**
+     * The state before the first digit.
+     */
+    public static final int START = 0;
+
+    /**
+     * The weighted digits, at index 16 * position + digit, where the digits at odd positions are doubled
+     * and the digits of the product are summed. The rows are padded to 16, so a digit can be masked
+     * to a valid index before it is checked.
+     */
+    private static final byte[] WEIGHTED = new byte[32];
+
+    /**
+     * The next state for a state and a digit, at index 16 * state + digit. A state is 10 * position + sum,
+     * with the position modulo 2 and the sum modulo 10.
+     */
+    private static final byte[] NEXT = new byte[20 * 16];
+
+    /**
+     * The check digit that completes a state to a valid number.
+     */
+    private static final byte[] CHECK = new byte[20];
+
+    static {
+        for (int d = 0; d < 10; d++) {
+            WEIGHTED[d] = (byte) d;
+            WEIGHTED[16 + d] = (byte) (d >= 5 ? 2 * d - 9 : 2 * d);
+        }
+        for (int position = 0; position < 2; position++) {
+            for (int sum = 0; sum < 10; sum++) {
+                int state = 10 * position + sum;
+                for (int d = 0; d < 10; d++) {
+                    int next = 10 * (1 - position) + (sum + WEIGHTED[16 * position + d]) % 10;
+                    NEXT[16 * state + d] = (byte) next;
+                    if (next % 10 == 0) {
+                        CHECK[state] = (byte) d;
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public String encode(String digits) {
         return digits + compute(digits);
@@ -12,13 +61,40 @@ public class LuhnMOD10 implements Digit {
 
     @Override
     public boolean verify(String digits) {
-        return computeSum(digits) % 10 == 0;
+        return verify(digits, 0, digits.length());
     }
 
     @Override
     public int compute(String digits) {
-        int val = computeSum(digits);
-        return (val == 0) ? 0 : (10 - val);
+        return compute(digits, 0, digits.length());
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        return isValid(update(START, value, start, end));
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        int state = update(START, value, start, end);
+        if (state < 0) {
+            throw new NumberFormatException("not a digit in " + value.subSequence(start, end));
+        }
+        return checkDigit(state);
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        return isValid(update(START, value, offset, length));
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
+        int state = update(START, value, offset, length);
+        if (state < 0) {
+            throw new NumberFormatException("not a digit");
+        }
+        return checkDigit(state);
     }
 
     @Override
@@ -31,16 +107,149 @@ public class LuhnMOD10 implements Digit {
         return digits.substring(0, digits.length() - 1);
     }
 
-    private int computeSum(String digits) {
-        int val = 0;
-        for (int i = 0; i < digits.length(); i += 2) {
-            int c = digits.charAt(i) - '0';
-            val += c;
+    /**
+     * Continue a computation with a range of digits. The state of a concatenation is computed by passing
+     * the result of one range as the state of the next range, starting with {@link #START}.
+     *
+     * @param state the state after the preceding digits
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the state, or -1 if the range contains other characters or the state is invalid
+     */
+    public static int update(int state, CharSequence value, int start, int end) {
+        if (state < 0 || state >= CHECK.length) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            int d = value.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            state = NEXT[state << 4 | d];
+        }
+        return state;
+    }
+
+    /**
+     * Continue a computation with a range of ASCII digits.
+     *
+     * @param state the state after the preceding digits
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the state, or -1 if the range contains other bytes or the state is invalid
+     */
+    public static int update(int state, byte[] value, int offset, int length) {
+        if (state < 0 || state >= CHECK.length) {
+            return -1;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            int d = value[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            state = NEXT[state << 4 | d];
+        }
+        return state;
+    }
+
+    /**
+     * Return true if the digits of a state, including the check digit, are valid.
+     *
+     * @param state the state
+     * @return true if valid, false otherwise
+     */
+    public static boolean isValid(int state) {
+        return state >= 0 && state < CHECK.length && state % 10 == 0;
+    }
+
+    /**
+     * Return the check digit that is appended to the digits of a state.
+     *
+     * @param state the state
+     * @return the check digit
+     * @throws IllegalArgumentException if the state is invalid
+     */
+    public static int checkDigit(int state) {
+        if (state < 0 || state >= CHECK.length) {
+            throw new IllegalArgumentException("invalid state: " + state);
+        }
+        return CHECK[state];
+    }
+
+    /**
+     * Verify a batch of numbers with their check digit, given as ASCII digits of a fixed width,
+     * one after the other.
+     *
+     * @param codes the numbers
+     * @param width the width of a number
+     * @param validOut the valid flags, bit i is set if number i is valid and cleared otherwise
+     * @return the valid flags
+     */
+    public static BitSet verifyAll(byte[] codes, int width, BitSet validOut) {
+        Objects.requireNonNull(validOut);
+        if (width < 1) {
+            throw new IllegalArgumentException("width out of range: " + width);
+        }
+        if (codes.length % width != 0) {
+            throw new IllegalArgumentException("codes array length is not a multiple of the width: " + codes.length);
+        }
+        int count = codes.length / width;
+        long[] words = new long[(count + 63) >>> 6];
+        for (int c = 0, offset = 0; c < count; c++) {
+            int sum = 0;
+            int bad = 0;
+            for (int j = 0; j < width; j++, offset++) {
+                int d = codes[offset] - '0';
+                // negative if the character is not a digit
+                bad |= d | (9 - d);
+                sum += WEIGHTED[(j & 1) << 4 | (d & 15)];
+            }
+            if (bad >= 0 && sum % 10 == 0) {
+                words[c >>> 6] |= 1L << c;
+            }
+        }
+        validOut.clear(0, count);
+        validOut.or(BitSet.valueOf(words));
+        return validOut;
+    }
+
+    /**
+     * Verify a batch of numbers with their check digit, given as longs of a fixed number of digits,
+     * with leading zeros if the number is smaller.
+     *
+     * @param numbers the numbers
+     * @param width the number of digits of a number, from 1 to 18
+     * @param validOut the valid flags, bit i is set if number i is valid and cleared otherwise
+     * @return the valid flags
+     */
+    public static BitSet verifyAll(long[] numbers, int width, BitSet validOut) {
+        Objects.requireNonNull(validOut);
+        if (width < 1 || width > 18) {
+            throw new IllegalArgumentException("width out of range: " + width);
+        }
+        long limit = 1L;
+        for (int j = 0; j < width; j++) {
+            limit *= 10L;
         }
-        for (int i = 1; i < digits.length(); i += 2) {
-            int c = digits.charAt(i) - '0';
-            val += (c >= 5) ? (2 * c - 9) : (2 * c);
+        long[] words = new long[(numbers.length + 63) >>> 6];
+        for (int c = 0; c < numbers.length; c++) {
+            long n = numbers[c];
+            if (n < 0L || n >= limit) {
+                continue;
+            }
+            int sum = 0;
+            // the sum does not depend on the order of the digits, so they are taken from the right
+            for (int j = width - 1; j >= 0; j--, n /= 10L) {
+                sum += WEIGHTED[(j & 1) << 4 | (int) (n % 10L)];
+            }
+            if (sum % 10 == 0) {
+                words[c >>> 6] |= 1L << c;
+            }
         }
-        return val % 10;
+        validOut.clear(0, numbers.length);
+        validOut.or(BitSet.valueOf(words));
+        return validOut;
     }
 }
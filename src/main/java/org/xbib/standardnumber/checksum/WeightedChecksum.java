@@ -0,0 +1,664 @@
+package org.xbib.standardnumber.checksum;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A check character system of a weighted sum modulo a modulus, compiled into tables.
+ *
+ * A system is defined by a specification: the alphabet of the data characters, the weights of the
+ * positions, the modulus, and the check characters. The data characters are multiplied by their weights
+ * and summed, and the check value is either the remainder of the sum, or the value that completes the sum
+ * to a multiple of the modulus. This covers, for example, ISBN-10 and ISSN (weights 2, 3, 4, ... from the right,
+ * modulus 11 with the check character {@code X} for 10), ISTC (weights 11, 9, 3, 1, modulus 16) and
+ * SICI (weights 1, 3, modulus 37).
+ *
+ * A specification is compiled once into a table of character values and, for repeating weights,
+ * a table of the products of the weights and the character values modulo the modulus, so computing
+ * a checksum takes a table lookup and an addition per character.
+ *
+ * <pre>
+ * WeightedChecksum checksum = WeightedChecksum.builder()
+ *     .alphabet("0123456789")
+ *     .ascendingFromRight(2)
+ *     .modulus(11)
+ *     .complement(true)
+ *     .checkCharacters("0123456789X")
+ *     .ignoreCase(true)
+ *     .build();
+ * </pre>
+ */
+public final class WeightedChecksum implements Digit {
+
+    private final int modulus;
+
+    private final boolean complement;
+
+    private final String checkCharacters;
+
+    /**
+     * The values of the ASCII characters of the data, the other value for characters that are not in the alphabet.
+     */
+    private final byte[] values;
+
+    /**
+     * The value of characters that are not in the alphabet, -1 if they are invalid.
+     */
+    private final int otherValue;
+
+    /**
+     * The values of the ASCII characters of the check character, -1 for invalid characters.
+     */
+    private final byte[] checkValues;
+
+    /**
+     * The products of the repeating weights and the character values modulo the modulus,
+     * at index phase * 128 + character, -1 for invalid characters. Null for ascending weights.
+     */
+    private final short[] products;
+
+    /**
+     * The products of the repeating weights and the value of characters outside of ASCII, by phase.
+     */
+    private final short[] otherProducts;
+
+    /**
+     * The repeating weights modulo the modulus. Null for ascending weights.
+     */
+    private final int[] weights;
+
+    private final int period;
+
+    private final boolean fromRight;
+
+    /**
+     * The weight of the rightmost data character for ascending weights.
+     */
+    private final int first;
+
+    private WeightedChecksum(Builder builder) {
+        this.modulus = builder.modulus;
+        this.complement = builder.complement;
+        this.checkCharacters = builder.checkCharacters;
+        this.otherValue = builder.otherValue;
+        this.values = values(builder.alphabet, builder.ignoreCase, otherValue);
+        this.checkValues = values(builder.checkCharacters, builder.ignoreCase, -1);
+        this.fromRight = builder.fromRight;
+        this.first = builder.first;
+        if (builder.weights != null) {
+            this.period = builder.weights.length;
+            this.weights = new int[period];
+            this.products = new short[period * 128];
+            this.otherProducts = new short[period];
+            for (int phase = 0; phase < period; phase++) {
+                int weight = Math.floorMod(builder.weights[phase], modulus);
+                weights[phase] = weight;
+                for (int ch = 0; ch < 128; ch++) {
+                    products[phase * 128 + ch] = product(weight, values[ch]);
+                }
+                otherProducts[phase] = product(weight, otherValue);
+            }
+        } else {
+            this.weights = null;
+            this.period = 0;
+            this.products = null;
+            this.otherProducts = null;
+        }
+    }
+
+    /**
+     * Create a builder for a specification.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private short product(int weight, int value) {
+        return (short) (value < 0 ? -1 : weight * value % modulus);
+    }
+
+    private static byte[] values(String alphabet, boolean ignoreCase, int otherValue) {
+        byte[] values = new byte[128];
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < alphabet.length(); i++) {
+            values[alphabet.charAt(i)] = (byte) i;
+        }
+        if (ignoreCase) {
+            for (char upper = 'A'; upper <= 'Z'; upper++) {
+                char lower = (char) (upper + ('a' - 'A'));
+                if (values[upper] >= 0 && values[lower] < 0) {
+                    values[lower] = values[upper];
+                } else if (values[lower] >= 0 && values[upper] < 0) {
+                    values[upper] = values[lower];
+                }
+            }
+        }
+        for (int ch = 0; ch < 128; ch++) {
+            if (values[ch] < 0) {
+                values[ch] = (byte) otherValue;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Return the modulus.
+     *
+     * @return the modulus
+     */
+    public int getModulus() {
+        return modulus;
+    }
+
+    /**
+     * Return the check character of a check value.
+     *
+     * @param checkValue the check value
+     * @return the check character
+     * @throws IndexOutOfBoundsException if there is no check character for the value
+     */
+    public char checkCharacter(int checkValue) {
+        return checkCharacters.charAt(checkValue);
+    }
+
+    /**
+     * Compute the check value of a range of data characters.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the check value, or -1 if the range contains an invalid character
+     */
+    public int checksum(CharSequence value, int start, int end) {
+        int remainder;
+        if (products != null) {
+            long sum = 0L;
+            int phase = fromRight ? (end - start - 1) % period : 0;
+            for (int i = start; i < end; i++) {
+                int product = product(phase, value.charAt(i));
+                if (product < 0) {
+                    return -1;
+                }
+                sum += product;
+                phase = next(phase);
+            }
+            remainder = (int) (sum % modulus);
+        } else {
+            long sum = 0L;
+            long weighted = 0L;
+            for (int i = start; i < end; i++) {
+                int v = value(value.charAt(i));
+                if (v < 0) {
+                    return -1;
+                }
+                // the prefix sums of the prefix sums weight each character with its distance from the end
+                sum += v;
+                weighted += sum;
+            }
+            remainder = remainder(sum, weighted);
+        }
+        return check(remainder);
+    }
+
+    /**
+     * Compute the check value of a range of ASCII data characters.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the check value, or -1 if the range contains an invalid character
+     */
+    public int checksum(byte[] value, int offset, int length) {
+        int remainder;
+        if (products != null) {
+            long sum = 0L;
+            int phase = fromRight ? (length - 1) % period : 0;
+            for (int i = offset; i < offset + length; i++) {
+                int product = product(phase, (char) (value[i] & 0xFF));
+                if (product < 0) {
+                    return -1;
+                }
+                sum += product;
+                phase = next(phase);
+            }
+            remainder = (int) (sum % modulus);
+        } else {
+            long sum = 0L;
+            long weighted = 0L;
+            for (int i = offset; i < offset + length; i++) {
+                int v = value((char) (value[i] & 0xFF));
+                if (v < 0) {
+                    return -1;
+                }
+                sum += v;
+                weighted += sum;
+            }
+            remainder = remainder(sum, weighted);
+        }
+        return check(remainder);
+    }
+
+    /**
+     * Compute the check value of the decimal digits of a number, with leading zeros up to a fixed number of digits,
+     * e.g. of a standard number that is packed into a long.
+     *
+     * @param number the number
+     * @param length the number of digits, from 1 to 18
+     * @return the check value, or -1 if the decimal digits are not in the alphabet
+     * @throws IllegalArgumentException if the number is negative or has more digits than the length
+     */
+    public int checksum(long number, int length) {
+        if (length < 1 || length > 18) {
+            throw new IllegalArgumentException("length out of range: " + length);
+        }
+        if (number < 0L) {
+            throw new IllegalArgumentException("negative number: " + number);
+        }
+        long sum = 0L;
+        long l = number;
+        // the digits are taken from the right
+        for (int fromEnd = 0; fromEnd < length; fromEnd++, l /= 10L) {
+            int v = values['0' + (int) (l % 10L)];
+            if (v < 0) {
+                return -1;
+            }
+            long weight = weights == null ? first + (long) fromEnd
+                    : weights[fromRight ? fromEnd % period : (length - 1 - fromEnd) % period];
+            sum += weight * v;
+        }
+        if (l != 0L) {
+            throw new IllegalArgumentException("more than " + length + " digits: " + number);
+        }
+        return check((int) Math.floorMod(sum, (long) modulus));
+    }
+
+    /**
+     * Check a range of characters that ends with the check character.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if the check character is valid, false otherwise
+     */
+    public boolean isValid(CharSequence value, int start, int end) {
+        if (end <= start) {
+            return false;
+        }
+        int checkValue = checkValue(value.charAt(end - 1));
+        return checkValue >= 0 && checksum(value, start, end - 1) == checkValue;
+    }
+
+    /**
+     * Check a range of ASCII characters that ends with the check character.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if the check character is valid, false otherwise
+     */
+    public boolean isValid(byte[] value, int offset, int length) {
+        if (length <= 0) {
+            return false;
+        }
+        int checkValue = checkValue((char) (value[offset + length - 1] & 0xFF));
+        return checkValue >= 0 && checksum(value, offset, length - 1) == checkValue;
+    }
+
+    @Override
+    public String encode(String digits) {
+        return digits + checkCharacter(compute(digits));
+    }
+
+    @Override
+    public boolean verify(String digits) {
+        return digits != null && isValid(digits, 0, digits.length());
+    }
+
+    @Override
+    public int compute(String digits) {
+        return compute(digits, 0, digits.length());
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        return isValid(value, start, end);
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        int c = checksum(value, start, end);
+        if (c < 0) {
+            throw new NumberFormatException("invalid character in " + value.subSequence(start, end));
+        }
+        return c;
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        return isValid(value, offset, length);
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
+        int c = checksum(value, offset, length);
+        if (c < 0) {
+            throw new NumberFormatException("invalid character");
+        }
+        return c;
+    }
+
+    @Override
+    public int getDigit(String digits) {
+        int c = checkValue(digits.charAt(digits.length() - 1));
+        if (c < 0) {
+            throw new NumberFormatException("invalid check character in " + digits);
+        }
+        return c;
+    }
+
+    @Override
+    public String getNumber(String digits) {
+        return digits.substring(0, digits.length() - 1);
+    }
+
+    private int value(char ch) {
+        return ch < 128 ? values[ch] : otherValue;
+    }
+
+    private int checkValue(char ch) {
+        return ch < 128 ? checkValues[ch] : -1;
+    }
+
+    private int product(int phase, char ch) {
+        return ch < 128 ? products[phase * 128 + ch] : otherProducts[phase];
+    }
+
+    /**
+     * Write consecutive numbers with their check characters into a buffer, e.g. for assigning the numbers
+     * of a block. A number is the prefix, followed by a counter of a fixed number of decimal digits with
+     * leading zeros, followed by the check character, all in ASCII, and the numbers are written one after
+     * the other without separators.
+     *
+     * The weighted sum of a number is computed from the weighted sum of the previous number by the
+     * change of the digits of the counter that differ, so a number takes constant time on average.
+     *
+     * @param prefix the data characters before the counter
+     * @param start the counter of the first number
+     * @param count the number of numbers
+     * @param width the number of digits of the counter, from 1 to 18
+     * @param out the buffer
+     * @param offset the offset of the first number in the buffer
+     * @return the offset after the last number
+     * @throws IllegalArgumentException if the prefix contains invalid characters, if the decimal digits
+     *                                  are not in the alphabet, or if the counter exceeds the width
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public int sequence(CharSequence prefix, long start, int count, int width, byte[] out, int offset) {
+        if (width < 1 || width > 18) {
+            throw new IllegalArgumentException("width out of range: " + width);
+        }
+        long limit = 1L;
+        for (int i = 0; i < width; i++) {
+            limit *= 10L;
+        }
+        if (start < 0L || count < 0 || start > limit - count) {
+            throw new IllegalArgumentException("counter out of range: " + start + " + " + count);
+        }
+        int length = prefix.length() + width;
+        long size = (long) count * (length + 1);
+        Objects.checkFromIndexSize(offset, (int) Math.min(size, Integer.MAX_VALUE), out.length);
+        int[] digits = new int[10];
+        for (int d = 0; d < 10; d++) {
+            digits[d] = values['0' + d];
+            if (digits[d] < 0) {
+                throw new IllegalArgumentException("decimal digits are not in the alphabet");
+            }
+        }
+        int[] w = new int[length];
+        for (int i = 0; i < length; i++) {
+            int fromEnd = length - 1 - i;
+            w[i] = weights == null ? (int) Math.floorMod(first + (long) fromEnd, (long) modulus)
+                    : weights[fromRight ? fromEnd % period : i % period];
+        }
+        byte[] number = new byte[length + 1];
+        long sum = 0L;
+        for (int i = 0; i < prefix.length(); i++) {
+            char ch = prefix.charAt(i);
+            int v = value(ch);
+            if (ch >= 128 || v < 0) {
+                throw new IllegalArgumentException("invalid character in prefix: " + prefix);
+            }
+            number[i] = (byte) ch;
+            sum += (long) w[i] * v;
+        }
+        long counter = start;
+        for (int i = length - 1; i >= prefix.length(); i--, counter /= 10L) {
+            int d = (int) (counter % 10L);
+            number[i] = (byte) ('0' + d);
+            sum += (long) w[i] * digits[d];
+        }
+        int remainder = (int) (sum % modulus);
+        int position = offset;
+        for (int n = 0; n < count; n++) {
+            number[length] = (byte) checkCharacters.charAt(check(remainder));
+            System.arraycopy(number, 0, out, position, length + 1);
+            position += length + 1;
+            if (n + 1 < count) {
+                // add one to the counter, the carry runs over the trailing nines
+                int i = length - 1;
+                long delta = 0L;
+                for (; number[i] == '9'; i--) {
+                    number[i] = '0';
+                    delta += (long) w[i] * (digits[0] - digits[9]);
+                }
+                int d = number[i] - '0';
+                number[i] = (byte) ('1' + d);
+                delta += (long) w[i] * (digits[d + 1] - digits[d]);
+                remainder = (int) Math.floorMod(remainder + delta, (long) modulus);
+            }
+        }
+        return position;
+    }
+
+    private int next(int phase) {
+        if (fromRight) {
+            return phase == 0 ? period - 1 : phase - 1;
+        }
+        return phase + 1 == period ? 0 : phase + 1;
+    }
+
+    /**
+     * Return the remainder of the weighted sum for ascending weights. The weighted sum is
+     * the sum of the character values weighted with their distance from the end, starting at 1,
+     * so each value is added first - 1 more times.
+     */
+    private int remainder(long sum, long weighted) {
+        return (int) Math.floorMod(weighted % modulus + (first - 1) * (sum % modulus), (long) modulus);
+    }
+
+    private int check(int remainder) {
+        return complement ? (modulus - remainder) % modulus : remainder;
+    }
+
+    /**
+     * A builder for a specification of a weighted checksum.
+     */
+    public static final class Builder {
+
+        private String alphabet = "0123456789";
+
+        private int otherValue = -1;
+
+        private int[] weights;
+
+        private boolean fromRight;
+
+        private boolean ascending;
+
+        private int first;
+
+        private int modulus;
+
+        private boolean complement;
+
+        private String checkCharacters;
+
+        private boolean ignoreCase;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the alphabet of the data characters. The value of a character is its index in the alphabet.
+         * The default is the decimal digits.
+         *
+         * @param alphabet the ASCII characters of the alphabet, at most 128
+         * @return this builder
+         */
+        public Builder alphabet(String alphabet) {
+            for (int i = 0; i < alphabet.length(); i++) {
+                if (alphabet.charAt(i) >= 128) {
+                    throw new IllegalArgumentException("not an ASCII character: " + alphabet.charAt(i));
+                }
+            }
+            this.alphabet = alphabet;
+            return this;
+        }
+
+        /**
+         * Set the value of data characters that are not in the alphabet. By default, such characters are invalid.
+         *
+         * @param otherValue the value, from 0 to 127
+         * @return this builder
+         */
+        public Builder otherValue(int otherValue) {
+            if (otherValue < 0 || otherValue > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("negative value: " + otherValue);
+            }
+            this.otherValue = otherValue;
+            return this;
+        }
+
+        /**
+         * Set weights that repeat from the leftmost data character.
+         *
+         * @param weights the weights
+         * @return this builder
+         */
+        public Builder weights(int... weights) {
+            if (weights.length == 0) {
+                throw new IllegalArgumentException("no weights");
+            }
+            this.weights = weights.clone();
+            this.ascending = false;
+            this.fromRight = false;
+            return this;
+        }
+
+        /**
+         * Set weights that repeat from the rightmost data character, i.e. the first weight is the weight
+         * of the data character before the check character.
+         *
+         * @param weights the weights
+         * @return this builder
+         */
+        public Builder weightsFromRight(int... weights) {
+            if (weights.length == 0) {
+                throw new IllegalArgumentException("no weights");
+            }
+            this.weights = weights.clone();
+            this.ascending = false;
+            this.fromRight = true;
+            return this;
+        }
+
+        /**
+         * Set the weights first, first + 1, first + 2, ... from the rightmost data character,
+         * like the weights 2, 3, 4, ... of ISBN-10, ISSN and ZDB.
+         *
+         * @param first the weight of the rightmost data character
+         * @return this builder
+         */
+        public Builder ascendingFromRight(int first) {
+            this.weights = null;
+            this.ascending = true;
+            this.fromRight = true;
+            this.first = first;
+            return this;
+        }
+
+        /**
+         * Set the modulus.
+         *
+         * @param modulus the modulus, from 2 to 32767
+         * @return this builder
+         */
+        public Builder modulus(int modulus) {
+            if (modulus < 2 || modulus > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("modulus out of range: " + modulus);
+            }
+            this.modulus = modulus;
+            return this;
+        }
+
+        /**
+         * Set if the check value completes the weighted sum to a multiple of the modulus,
+         * instead of being the remainder of the weighted sum.
+         *
+         * @param complement true if the check value is the complement of the remainder
+         * @return this builder
+         */
+        public Builder complement(boolean complement) {
+            this.complement = complement;
+            return this;
+        }
+
+        /**
+         * Set the check characters, indexed by the check value, e.g. {@code 0123456789X} for a modulus of 11.
+         *
+         * @param checkCharacters the ASCII check characters
+         * @return this builder
+         */
+        public Builder checkCharacters(String checkCharacters) {
+            for (int i = 0; i < checkCharacters.length(); i++) {
+                if (checkCharacters.charAt(i) >= 128) {
+                    throw new IllegalArgumentException("not an ASCII character: " + checkCharacters.charAt(i));
+                }
+            }
+            this.checkCharacters = checkCharacters;
+            return this;
+        }
+
+        /**
+         * Set if letters are accepted in lower case and upper case.
+         *
+         * @param ignoreCase true if the case of letters is ignored
+         * @return this builder
+         */
+        public Builder ignoreCase(boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            return this;
+        }
+
+        /**
+         * Compile the specification.
+         *
+         * @return the weighted checksum
+         * @throws IllegalStateException if the specification is incomplete
+         */
+        public WeightedChecksum build() {
+            if (modulus == 0) {
+                throw new IllegalStateException("no modulus");
+            }
+            if (weights == null && !ascending) {
+                throw new IllegalStateException("no weights");
+            }
+            if (checkCharacters == null || checkCharacters.length() < modulus) {
+                throw new IllegalStateException("not enough check characters for modulus " + modulus);
+            }
+            return new WeightedChecksum(this);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package org.xbib.standardnumber.checksum.iso7064;
+
+import java.util.Arrays;
+import org.xbib.standardnumber.checksum.Digit;
+
+/**
+ * The check character systems of ISO/IEC 7064, compiled into tables.
+ *
+ * A system is compiled once into a table from characters to their values and a table of state transitions,
+ * so computing a checksum takes two table lookups per character, without any division.
+ *
+ * The pure systems MOD 11-2, MOD 37-2, MOD 97-10, MOD 661-26 and MOD 1271-36 have a modulus M and a radix r.
+ * The state is the remainder modulo M of the characters read as a number in radix r, and a string with
+ * its check characters is valid if the remainder is 1.
+ *
+ * The hybrid systems MOD 11,10, MOD 27,26 and MOD 37,36 use the moduli M and M+1, where M is the size of
+ * the alphabet. A string with its check character is valid if the final state is 1.
+ *
+ * Characters must be upper case.
+ */
+public final class ISO7064 implements Digit {
+
+    private static final String DIGITS = "0123456789";
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private static final String ALPHANUMERIC = DIGITS + LETTERS;
+
+    /**
+     * MOD 11-2, for numeric strings with one check character {@code 0-9} or {@code X}, used in ISNI and ORCID.
+     */
+    public static final ISO7064 MOD_11_2 = pure("MOD 11-2", 11, 2, DIGITS, DIGITS + "X", 1);
+
+    /**
+     * MOD 37-2, for alphanumeric strings with one check character {@code 0-9}, {@code A-Z} or {@code *}.
+     */
+    public static final ISO7064 MOD_37_2 = pure("MOD 37-2", 37, 2, ALPHANUMERIC, ALPHANUMERIC + "*", 1);
+
+    /**
+     * MOD 97-10, for numeric strings with two check digits.
+     */
+    public static final ISO7064 MOD_97_10 = pure("MOD 97-10", 97, 10, DIGITS, DIGITS, 2);
+
+    /**
+     * MOD 661-26, for alphabetic strings with two check letters.
+     */
+    public static final ISO7064 MOD_661_26 = pure("MOD 661-26", 661, 26, LETTERS, LETTERS, 2);
+
+    /**
+     * MOD 1271-36, for alphanumeric strings with two check characters.
+     */
+    public static final ISO7064 MOD_1271_36 = pure("MOD 1271-36", 1271, 36, ALPHANUMERIC, ALPHANUMERIC, 2);
+
+    /**
+     * MOD 11,10, for numeric strings with one check digit, used in German VAT numbers.
+     */
+    public static final ISO7064 MOD_11_10 = hybrid("MOD 11,10", DIGITS);
+
+    /**
+     * MOD 27,26, for alphabetic strings with one check letter.
+     */
+    public static final ISO7064 MOD_27_26 = hybrid("MOD 27,26", LETTERS);
+
+    /**
+     * MOD 37,36, for alphanumeric strings with one check character, used in ISAN.
+     */
+    public static final ISO7064 MOD_37_36 = hybrid("MOD 37,36", ALPHANUMERIC);
+
+    private final String name;
+
+    private final int modulus;
+
+    private final int radix;
+
+    private final boolean hybrid;
+
+    /**
+     * The check characters, indexed by value.
+     */
+    private final String checkAlphabet;
+
+    private final int checkLength;
+
+    /**
+     * The values of the ASCII characters of the data, -1 for other characters.
+     */
+    private final byte[] values;
+
+    /**
+     * The values of the ASCII characters of the check characters, -1 for other characters.
+     */
+    private final byte[] checkValues;
+
+    /**
+     * The next state for a state and a character value, at index state * width + value.
+     */
+    private final short[] transitions;
+
+    private final int width;
+
+    private final int initialState;
+
+    private ISO7064(String name, int modulus, int radix, boolean hybrid, String alphabet, String checkAlphabet,
+                    int checkLength) {
+        this.name = name;
+        this.modulus = modulus;
+        this.radix = radix;
+        this.hybrid = hybrid;
+        this.checkAlphabet = checkAlphabet;
+        this.checkLength = checkLength;
+        this.values = values(alphabet);
+        // a check character of a system with two check characters is a digit in the radix
+        this.checkValues = values(checkLength == 1 ? checkAlphabet : alphabet);
+        this.width = Math.max(alphabet.length(), checkAlphabet.length());
+        this.transitions = new short[modulus * width];
+        for (int state = 0; state < modulus; state++) {
+            for (int value = 0; value < width; value++) {
+                int next;
+                if (hybrid) {
+                    next = ((state == 0 ? modulus : state) * 2 % (modulus + 1) + value) % modulus;
+                } else {
+                    next = (state * radix + value) % modulus;
+                }
+                transitions[state * width + value] = (short) next;
+            }
+        }
+        // the state before the first character, for a hybrid system the state that yields the product M
+        this.initialState = hybrid ? modulus / 2 : 0;
+    }
+
+    private static ISO7064 pure(String name, int modulus, int radix, String alphabet, String checkAlphabet,
+                                int checkLength) {
+        return new ISO7064(name, modulus, radix, false, alphabet, checkAlphabet, checkLength);
+    }
+
+    private static ISO7064 hybrid(String name, String alphabet) {
+        return new ISO7064(name, alphabet.length(), 2, true, alphabet, alphabet, 1);
+    }
+
+    private static byte[] values(String alphabet) {
+        byte[] values = new byte[128];
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < alphabet.length(); i++) {
+            values[alphabet.charAt(i)] = (byte) i;
+        }
+        return values;
+    }
+
+    /**
+     * Return the number of check characters.
+     *
+     * @return the number of check characters, 1 or 2
+     */
+    public int getCheckLength() {
+        return checkLength;
+    }
+
+    /**
+     * Compute the check value of a range of data characters.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the check value, or -1 if the range contains a character that is not in the alphabet
+     */
+    public int checksum(CharSequence value, int start, int end) {
+        return check(update(initialState, value, start, end));
+    }
+
+    /**
+     * Compute the check value of a range of ASCII data characters.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the check value, or -1 if the range contains a character that is not in the alphabet
+     */
+    public int checksum(byte[] value, int offset, int length) {
+        return check(update(initialState, value, offset, length));
+    }
+
+    private int check(int state) {
+        if (state < 0) {
+            return -1;
+        }
+        if (hybrid) {
+            // the product of the next step, which the check character must complete to 1
+            int product = (state == 0 ? modulus : state) * 2 % (modulus + 1);
+            return (modulus + 1 - product) % modulus;
+        }
+        for (int i = 0; i < checkLength; i++) {
+            state = transitions[state * width];
+        }
+        return (modulus + 1 - state) % modulus;
+    }
+
+    /**
+     * Check a range of characters that ends with the check characters.
+     *
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return true if the check characters are valid, false otherwise
+     */
+    public boolean isValid(CharSequence value, int start, int end) {
+        if (end - start <= checkLength) {
+            return false;
+        }
+        int state = update(initialState, value, start, end - checkLength);
+        for (int i = end - checkLength; i < end && state >= 0; i++) {
+            state = checkTransition(state, value.charAt(i));
+        }
+        return state == 1;
+    }
+
+    /**
+     * Check a range of ASCII characters that ends with the check characters.
+     *
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return true if the check characters are valid, false otherwise
+     */
+    public boolean isValid(byte[] value, int offset, int length) {
+        if (length <= checkLength) {
+            return false;
+        }
+        int end = offset + length;
+        int state = update(initialState, value, offset, length - checkLength);
+        for (int i = end - checkLength; i < end && state >= 0; i++) {
+            state = checkTransition(state, (char) (value[i] & 0xFF));
+        }
+        return state == 1;
+    }
+
+    private int checkTransition(int state, char ch) {
+        int v = ch < 128 ? checkValues[ch] : -1;
+        return v < 0 ? -1 : transitions[state * width + v];
+    }
+
+    @Override
+    public String encode(String digits) {
+        int c = compute(digits);
+        StringBuilder sb = new StringBuilder(digits.length() + checkLength).append(digits);
+        if (checkLength == 1) {
+            sb.append(checkAlphabet.charAt(c));
+        } else {
+            sb.append(checkAlphabet.charAt(c / radix)).append(checkAlphabet.charAt(c % radix));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean verify(String digits) {
+        return digits != null && isValid(digits, 0, digits.length());
+    }
+
+    @Override
+    public int compute(String digits) {
+        return compute(digits, 0, digits.length());
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        return isValid(value, start, end);
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        int c = checksum(value, start, end);
+        if (c < 0) {
+            throw new NumberFormatException("invalid character for " + name + " in " + value.subSequence(start, end));
+        }
+        return c;
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        return isValid(value, offset, length);
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
+        int c = checksum(value, offset, length);
+        if (c < 0) {
+            throw new NumberFormatException("invalid character for " + name);
+        }
+        return c;
+    }
+
+    @Override
+    public int getDigit(String digits) {
+        int c = 0;
+        for (int i = digits.length() - checkLength; i < digits.length(); i++) {
+            char ch = digits.charAt(i);
+            int v = ch < 128 ? checkValues[ch] : -1;
+            if (v < 0) {
+                throw new NumberFormatException("invalid check character for " + name + " in " + digits);
+            }
+            c = c * radix + v;
+        }
+        return c;
+    }
+
+    @Override
+    public String getNumber(String digits) {
+        return digits.substring(0, digits.length() - checkLength);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Return the state before the first character.
+     *
+     * @return the initial state
+     */
+    public int initialState() {
+        return initialState;
+    }
+
+    /**
+     * Continue a computation with a range of characters. The state of a concatenation is computed by passing
+     * the result of one range as the state of the next range, starting with {@link #initialState()}.
+     * If the check characters are in the alphabet, as in all systems except MOD 11-2 and MOD 37-2,
+     * data characters that are followed by their check characters are valid if the final state is 1.
+     *
+     * @param state the state after the preceding characters
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the state, or -1 if the range contains a character that is not in the alphabet or the state is invalid
+     */
+    public int update(int state, CharSequence value, int start, int end) {
+        if (state < 0 || state >= modulus) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            int v = ch < 128 ? values[ch] : -1;
+            if (v < 0) {
+                return -1;
+            }
+            state = transitions[state * width + v];
+        }
+        return state;
+    }
+
+    /**
+     * Continue a computation with a range of ASCII characters.
+     *
+     * @param state the state after the preceding characters
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the state, or -1 if the range contains a character that is not in the alphabet or the state is invalid
+     */
+    public int update(int state, byte[] value, int offset, int length) {
+        if (state < 0 || state >= modulus) {
+            return -1;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            int v = value[i] >= 0 ? values[value[i]] : -1;
+            if (v < 0) {
+                return -1;
+            }
+            state = transitions[state * width + v];
+        }
+        return state;
+    }
+}
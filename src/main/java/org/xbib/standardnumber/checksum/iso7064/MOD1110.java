@@ -7,8 +7,6 @@ import org.xbib.standardnumber.checksum.Digit;
  */
 public class MOD1110 implements Digit {
 
-    private static final String ALPHABET = "0123456789";
-
     @Override
     public String encode(String digits) {
         int c = compute(digits);
@@ -22,13 +20,27 @@ public class MOD1110 implements Digit {
 
     @Override
     public int compute(String digits) {
-        int modulus = ALPHABET.length();
-        int check = modulus / 2;
-        for (int i = 0; i < digits.length(); i++) {
-            check = (((check > 0 ? check : modulus) * 2) % (modulus + 1)
-                    + ALPHABET.indexOf(digits.charAt(i))) % modulus;
-        }
-        return check;
+        return compute(digits, 0, digits.length());
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        return compute(value, start, end) == 1;
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        return ISO7064.MOD_11_10.update(ISO7064.MOD_11_10.initialState(), value, start, end);
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        return compute(value, offset, length) == 1;
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
+        return ISO7064.MOD_11_10.update(ISO7064.MOD_11_10.initialState(), value, offset, length);
     }
 
     @Override
@@ -10,29 +10,80 @@ public class MOD112 implements Digit {
     @Override
     public String encode(String digits) {
         int c = compute(digits);
-        return digits + (c == 10 ? 'X' : c);
+        return digits + (c == 10 ? "X" : Integer.toString(c));
     }
 
     @Override
     public boolean verify(String digits) {
-        return compute(getNumber(digits)) == getDigit(digits);
+        return verify(digits, 0, digits.length());
     }
 
     @Override
     public int compute(String digits) {
+        return compute(digits, 0, digits.length());
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        if (end <= start) {
+            return false;
+        }
+        int p = 0;
+        for (int i = start; i < end - 1; i++) {
+            int c = value.charAt(i) - '0';
+            if (c < 0 || c > 9) {
+                return false;
+            }
+            p = 2 * (p + c) % 11;
+        }
+        return (12 - p) % 11 == checkValue(value.charAt(end - 1));
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        int p = 0;
+        for (int i = start; i < end; i++) {
+            int c = value.charAt(i) - '0';
+            if (c < 0 || c > 9) {
+                throw new NumberFormatException("not a digit: " + value.charAt(i));
+            }
+            p = 2 * (p + c) % 11;
+        }
+        return (12 - p) % 11;
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        if (length <= 0) {
+            return false;
+        }
+        int p = 0;
+        for (int i = offset; i < offset + length - 1; i++) {
+            int c = value[i] - '0';
+            if (c < 0 || c > 9) {
+                return false;
+            }
+            p = 2 * (p + c) % 11;
+        }
+        return (12 - p) % 11 == checkValue((char) (value[offset + length - 1] & 0xFF));
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
         int p = 0;
-        for (int i = 0; i < digits.length(); ++i) {
-            int c = digits.charAt(i) - '0';
-            p = 2 * (p + c);
+        for (int i = offset; i < offset + length; i++) {
+            int c = value[i] - '0';
+            if (c < 0 || c > 9) {
+                throw new NumberFormatException("not a digit: " + (char) (value[i] & 0xFF));
+            }
+            p = 2 * (p + c) % 11;
         }
-        p = p % 11;
         return (12 - p) % 11;
     }
 
     @Override
     public int getDigit(String digits) {
-        char c = digits.charAt(digits.length() - 1);
-        return c == 'X' || c == 'x' ? 10 : c - '0';
+        return checkValue(digits.charAt(digits.length() - 1));
     }
 
     @Override
@@ -40,4 +91,7 @@ public class MOD112 implements Digit {
         return digits.substring(0, digits.length() - 1);
     }
 
+    private static int checkValue(char c) {
+        return c == 'X' || c == 'x' ? 10 : c - '0';
+    }
 }
@@ -2,15 +2,20 @@ package org.xbib.standardnumber.checksum.iso7064;
 
 import org.xbib.standardnumber.checksum.Digit;
 
-import java.math.BigDecimal;
-
 /**
  * MODULUS 97-10 calculation. Used in IBAN.
  *
+ * The remainder is computed incrementally in long arithmetic. Digits are accumulated in chunks
+ * of up to fifteen digits before they are reduced, letters count as the two-digit values 10 to 35,
+ * as in IBAN, so a number never has to be expanded into a string of digits.
  */
 public class MOD9710 implements Digit {
 
-    private static final BigDecimal CONSTANT_97 = new BigDecimal(97);
+    /**
+     * The accumulator is reduced before it exceeds this limit. Two more decimal places
+     * for a letter must still fit into a long.
+     */
+    private static final long LIMIT = 1_000_000_000_000_000L;
 
     @Override
     public String encode(String digits) {
@@ -26,17 +31,44 @@ public class MOD9710 implements Digit {
 
     @Override
     public boolean verify(String digits) {
-        try {
-            return new BigDecimal(digits != null ? digits : "0").remainder(CONSTANT_97).intValue() == 1;
-        } catch (NumberFormatException e) {
-            // invalid big decimal
-            return false;
-        }
+        return update(0, digits != null ? digits : "0", 0, digits != null ? digits.length() : 1) == 1;
     }
 
     @Override
     public int compute(String digits) {
-        return new BigDecimal(digits).remainder(CONSTANT_97).intValue();
+        int r = update(0, digits, 0, digits.length());
+        if (r < 0) {
+            throw new NumberFormatException("not a digit in " + digits);
+        }
+        return r;
+    }
+
+    @Override
+    public boolean verify(CharSequence value, int start, int end) {
+        return update(0, value, start, end) == 1;
+    }
+
+    @Override
+    public int compute(CharSequence value, int start, int end) {
+        int r = update(0, value, start, end);
+        if (r < 0) {
+            throw new NumberFormatException("not a digit in " + value.subSequence(start, end));
+        }
+        return r;
+    }
+
+    @Override
+    public boolean verify(byte[] value, int offset, int length) {
+        return update(0, value, offset, length) == 1;
+    }
+
+    @Override
+    public int compute(byte[] value, int offset, int length) {
+        int r = update(0, value, offset, length);
+        if (r < 0) {
+            throw new NumberFormatException("not a digit");
+        }
+        return r;
     }
 
     @Override
@@ -48,4 +80,68 @@ public class MOD9710 implements Digit {
     public String getNumber(String digits) {
         return digits.substring(0, digits.length() - 2);
     }
+
+    /**
+     * Continue a MOD 97 computation with a range of characters. Digits {@code 0-9} count as
+     * one decimal place, letters {@code A-Z} as two decimal places with the values 10 to 35.
+     * The remainder of a concatenation is computed by passing the result of one range
+     * as the remainder of the next range.
+     *
+     * @param remainder the remainder of the preceding characters, 0 to start a computation
+     * @param value the characters
+     * @param start the start index of the range, inclusive
+     * @param end the end index of the range, exclusive
+     * @return the remainder, or -1 if the range contains other characters or the remainder is negative
+     */
+    public static int update(int remainder, CharSequence value, int start, int end) {
+        if (remainder < 0) {
+            return -1;
+        }
+        long r = remainder;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                r = r * 10 + (ch - '0');
+            } else if (ch >= 'A' && ch <= 'Z') {
+                r = r * 100 + (ch - 'A' + 10);
+            } else {
+                return -1;
+            }
+            if (r >= LIMIT) {
+                r %= 97;
+            }
+        }
+        return (int) (r % 97);
+    }
+
+    /**
+     * Continue a MOD 97 computation with a range of ASCII characters.
+     *
+     * @param remainder the remainder of the preceding characters, 0 to start a computation
+     * @param value the bytes
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the remainder, or -1 if the range contains other characters or the remainder is negative
+     * @see #update(int, CharSequence, int, int)
+     */
+    public static int update(int remainder, byte[] value, int offset, int length) {
+        if (remainder < 0) {
+            return -1;
+        }
+        long r = remainder;
+        for (int i = offset; i < offset + length; i++) {
+            int ch = value[i];
+            if (ch >= '0' && ch <= '9') {
+                r = r * 10 + (ch - '0');
+            } else if (ch >= 'A' && ch <= 'Z') {
+                r = r * 100 + (ch - 'A' + 10);
+            } else {
+                return -1;
+            }
+            if (r >= LIMIT) {
+                r %= 97;
+            }
+        }
+        return (int) (r % 97);
+    }
 }
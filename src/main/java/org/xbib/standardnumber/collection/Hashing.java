@@ -0,0 +1,55 @@
+package org.xbib.standardnumber.collection;
+
+/**
+ * Hash functions for standard numbers.
+ */
+final class Hashing {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private Hashing() {
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads packed standard numbers over all bits.
+     *
+     * @param key the key
+     * @return the hash
+     */
+    static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A 64-bit hash of characters, for standard numbers that can not be packed like DOI and ARK.
+     * The characters are mixed in blocks of four by the steps of the 64-bit MurmurHash3.
+     *
+     * @param value the characters
+     * @return the hash
+     */
+    static long hash(CharSequence value) {
+        int length = value.length();
+        long h = length * C2;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long k = value.charAt(i) | (long) value.charAt(i + 1) << 16
+                    | (long) value.charAt(i + 2) << 32 | (long) value.charAt(i + 3) << 48;
+            h ^= Long.rotateLeft(k * C1, 31) * C2;
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        long k = 0L;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            k |= (long) value.charAt(i) << shift;
+        }
+        h ^= Long.rotateLeft(k * C1, 31) * C2;
+        return mix(h ^ length);
+    }
+}
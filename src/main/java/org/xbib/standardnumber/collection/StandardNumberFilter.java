@@ -0,0 +1,292 @@
+package org.xbib.standardnumber.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+import org.xbib.standardnumber.StandardNumber;
+
+/**
+ * A Bloom filter of standard numbers, for a cheap check if a standard number may have been seen
+ * before a more expensive lookup.
+ *
+ * A filter has no false negatives, and false positives with a rate that is chosen when the filter is
+ * created. The filter is created with a key function which maps a standard number to a long key.
+ * For standard numbers that can be packed, this is the pack function of the type, e.g. {@code ISBN::pack},
+ * which also defines which forms of a standard number are equivalent. For other standard numbers like DOI
+ * or ARK, it is {@link #hash(CharSequence)} of the normalized value. Standard numbers that are given as
+ * {@link StandardNumber} instances are keyed by their {@link StandardNumber#normalizedValue()}.
+ *
+ * Standard numbers can be added by any number of threads concurrently. Filters of the same size,
+ * e.g. filters that were built for shards of the same data, can be merged into their union.
+ * A filter can be written to a byte buffer or a file and read again.
+ */
+public final class StandardNumberFilter {
+
+    /**
+     * The magic number of a filter, {@code ISBF} in ASCII.
+     */
+    private static final int MAGIC = 0x49534246;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER = 16;
+
+    /**
+     * The maximum number of words, so the serialized filter fits into a byte buffer.
+     */
+    private static final int MAX_WORDS = (Integer.MAX_VALUE - HEADER) / Long.BYTES;
+
+    private final ToLongFunction<? super CharSequence> keyFunction;
+
+    private final AtomicLongArray words;
+
+    private final long bits;
+
+    private final int hashFunctions;
+
+    private StandardNumberFilter(ToLongFunction<? super CharSequence> keyFunction, AtomicLongArray words,
+                                 int hashFunctions) {
+        this.keyFunction = Objects.requireNonNull(keyFunction);
+        this.words = words;
+        this.bits = (long) words.length() * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Create a filter.
+     *
+     * @param keyFunction the key function, e.g. {@code ISBN::pack} or {@code StandardNumberFilter::hash}
+     * @param expectedSize the expected number of standard numbers
+     * @param falsePositiveRate the false positive rate at the expected number of standard numbers,
+     *                          greater than 0 and less than 1
+     * @return the filter
+     * @throws IllegalArgumentException if the filter would not fit into a byte buffer of 2 GiB
+     */
+    public static StandardNumberFilter create(ToLongFunction<? super CharSequence> keyFunction,
+                                              long expectedSize, double falsePositiveRate) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative size: " + expectedSize);
+        }
+        if (!(falsePositiveRate > 0.0d && falsePositiveRate < 1.0d)) {
+            throw new IllegalArgumentException("false positive rate out of range: " + falsePositiveRate);
+        }
+        long n = Math.max(1L, expectedSize);
+        double ln2 = Math.log(2.0d);
+        double m = -n * Math.log(falsePositiveRate) / (ln2 * ln2);
+        long words = Math.max(1L, (long) Math.ceil(m / Long.SIZE));
+        if (words > MAX_WORDS) {
+            throw new IllegalArgumentException("filter too large: " + expectedSize);
+        }
+        int hashFunctions = (int) Math.max(1L, Math.round(words * Long.SIZE * ln2 / n));
+        return new StandardNumberFilter(keyFunction, new AtomicLongArray((int) words), Math.min(hashFunctions, 64));
+    }
+
+    /**
+     * Read a filter from a byte buffer, starting at the position of the buffer.
+     *
+     * @param buffer the byte buffer
+     * @param keyFunction the key function that was used for creating the filter
+     * @return the filter
+     * @throws IllegalArgumentException if the buffer does not contain a filter
+     */
+    public static StandardNumberFilter read(ByteBuffer buffer, ToLongFunction<? super CharSequence> keyFunction) {
+        if (buffer.remaining() < HEADER || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("not a filter");
+        }
+        int hashFunctions = buffer.getInt();
+        int length = buffer.getInt();
+        if (hashFunctions < 1 || hashFunctions > 64 || length < 1 || length > MAX_WORDS
+                || buffer.remaining() < (long) length * Long.BYTES) {
+            throw new IllegalArgumentException("not a filter");
+        }
+        AtomicLongArray words = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            words.set(i, buffer.getLong());
+        }
+        return new StandardNumberFilter(keyFunction, words, hashFunctions);
+    }
+
+    /**
+     * Read a filter from a file.
+     *
+     * @param path the path of the file
+     * @param keyFunction the key function that was used for creating the filter
+     * @return the filter
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file does not contain a filter
+     */
+    public static StandardNumberFilter read(Path path, ToLongFunction<? super CharSequence> keyFunction)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()), keyFunction);
+        }
+    }
+
+    /**
+     * A 64-bit hash of a normalized standard number, the key function for standard numbers
+     * that can not be packed, like DOI and ARK.
+     *
+     * @param value the normalized standard number
+     * @return the hash
+     */
+    public static long hash(CharSequence value) {
+        return Hashing.hash(value);
+    }
+
+    /**
+     * Add a standard number.
+     *
+     * @param value the standard number
+     * @return true if the filter has changed, false if the standard number may have been added before
+     * @throws NumberFormatException if the key function rejects the standard number
+     */
+    public boolean add(CharSequence value) {
+        return addKey(keyFunction.applyAsLong(value));
+    }
+
+    /**
+     * Add a standard number by its normalized value.
+     *
+     * @param standardNumber the standard number
+     * @return true if the filter has changed, false if the standard number may have been added before
+     * @throws NumberFormatException if the key function rejects the standard number
+     */
+    public boolean add(StandardNumber standardNumber) {
+        return add(standardNumber.normalizedValue());
+    }
+
+    /**
+     * Add a key, e.g. a packed standard number.
+     *
+     * @param key the key
+     * @return true if the filter has changed, false if the key may have been added before
+     */
+    public boolean addKey(long key) {
+        long h = Hashing.mix(key);
+        long delta = Long.rotateLeft(h, 32) | 1L;
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++, h += delta) {
+            long bit = Long.remainderUnsigned(h, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0L) {
+                if (words.compareAndSet(index, word, word | mask)) {
+                    changed = true;
+                    break;
+                }
+                word = words.get(index);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Return true if a standard number may have been added, false if it was certainly not added.
+     *
+     * @param value the standard number
+     * @return true if the standard number may have been added, false if not or if the key function rejects it
+     */
+    public boolean mightContain(CharSequence value) {
+        long key;
+        try {
+            key = keyFunction.applyAsLong(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return mightContainKey(key);
+    }
+
+    /**
+     * Return true if a key may have been added, false if it was certainly not added.
+     *
+     * @param key the key
+     * @return true if the key may have been added
+     */
+    public boolean mightContainKey(long key) {
+        long h = Hashing.mix(key);
+        long delta = Long.rotateLeft(h, 32) | 1L;
+        for (int i = 0; i < hashFunctions; i++, h += delta) {
+            long bit = Long.remainderUnsigned(h, bits);
+            if ((words.get((int) (bit >>> 6)) & 1L << bit) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merge another filter into this filter, so this filter contains the union of both.
+     * The other filter must have been created with the same key function, size and false positive rate.
+     *
+     * @param other the other filter
+     * @return this filter
+     * @throws IllegalArgumentException if the filters have a different size
+     */
+    public StandardNumberFilter merge(StandardNumberFilter other) {
+        if (other.bits != bits || other.hashFunctions != hashFunctions) {
+            throw new IllegalArgumentException("filters differ in size");
+        }
+        for (int i = 0; i < words.length(); i++) {
+            long word = other.words.get(i);
+            if (word != 0L) {
+                words.accumulateAndGet(i, word, (a, b) -> a | b);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Return the number of bits of the filter.
+     *
+     * @return the number of bits
+     */
+    public long bitSize() {
+        return bits;
+    }
+
+    /**
+     * Return the number of bytes that {@link #write(ByteBuffer)} writes.
+     *
+     * @return the number of bytes
+     */
+    public int serializedSize() {
+        return HEADER + words.length() * Long.BYTES;
+    }
+
+    /**
+     * Write the filter to a byte buffer, starting at the position of the buffer. Standard numbers that are
+     * added concurrently may or may not be written.
+     *
+     * @param buffer the byte buffer
+     * @return the byte buffer
+     */
+    public ByteBuffer write(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(hashFunctions).putInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return buffer;
+    }
+
+    /**
+     * Write the filter to a new file.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file exists or can not be written
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, serializedSize());
+            write(buffer);
+            buffer.force();
+        }
+    }
+}
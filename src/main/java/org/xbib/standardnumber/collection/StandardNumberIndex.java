@@ -0,0 +1,731 @@
+package org.xbib.standardnumber.collection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import org.xbib.standardnumber.StandardNumber;
+
+/**
+ * A sorted index of standard numbers in a file, with an optional long payload per standard number,
+ * e.g. the offset of a record.
+ *
+ * The keys are standard numbers in their packed form, see for example
+ * {@link org.xbib.standardnumber.ISBN#pack(CharSequence)}. An index is written once by a
+ * {@link Builder} and then opened with {@link #open(Path, ToLongFunction)}, which maps the file
+ * into memory in read-only mode. Lookups search the mapped keys directly, so opening an index takes no
+ * time regardless of its size, nothing is deserialized, and the pages of the file are shared by all
+ * processes that open it.
+ *
+ * The file consists of a header with a magic number, a version, the number of keys and flags,
+ * followed by the sorted keys and, if the index has payloads, the payloads in the order of the keys,
+ * in big-endian order. Every key is unique.
+ *
+ * An index is immutable and can be read by any number of threads concurrently.
+ */
+public final class StandardNumberIndex {
+
+    /**
+     * The magic number of an index file, {@code ISIX} in ASCII.
+     */
+    private static final int MAGIC = 0x49534958;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER = 24;
+
+    private static final int FLAG_PAYLOADS = 1;
+
+    /**
+     * The maximum number of longs in one buffer, so a buffer has at most 1 GiB.
+     */
+    private static final int SEGMENT_LONGS = 1 << 27;
+
+    private static final int SEGMENT_SHIFT = 27;
+
+    /**
+     * The size of a range below which the search is linear.
+     */
+    private static final int LINEAR = 8;
+
+    private final ToLongFunction<? super CharSequence> packer;
+
+    private final LongBuffer[] keys;
+
+    private final LongBuffer[] payloads;
+
+    private final long size;
+
+    private StandardNumberIndex(ToLongFunction<? super CharSequence> packer, LongBuffer[] keys,
+                                LongBuffer[] payloads, long size) {
+        this.packer = Objects.requireNonNull(packer);
+        this.keys = keys;
+        this.payloads = payloads;
+        this.size = size;
+    }
+
+    /**
+     * Create a builder for an index.
+     *
+     * @param packer the pack function of the standard number type, e.g. {@code ISBN::pack}
+     * @return the builder
+     */
+    public static Builder builder(ToLongFunction<? super CharSequence> packer) {
+        return new Builder(packer);
+    }
+
+    /**
+     * Open an index in a file.
+     *
+     * @param path the path of the file
+     * @param packer the pack function of the standard number type that was used for building the index
+     * @return the index
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file is not an index file
+     */
+    public static StandardNumberIndex open(Path path, ToLongFunction<? super CharSequence> packer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IllegalArgumentException("not an index file: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0L, HEADER);
+            long size = header.getLong(8);
+            boolean hasPayloads = (header.getInt(16) & FLAG_PAYLOADS) != 0;
+            long length = size * Long.BYTES;
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || size < 0
+                    || channel.size() != HEADER + (hasPayloads ? 2 * length : length)) {
+                throw new IllegalArgumentException("not an index file: " + path);
+            }
+            return new StandardNumberIndex(packer, map(channel, HEADER, size),
+                    hasPayloads ? map(channel, HEADER + length, size) : null, size);
+        }
+    }
+
+    /**
+     * Return true if a standard number is in the index.
+     *
+     * @param value the standard number
+     * @return true if the standard number is in the index, false if not or if it is invalid
+     */
+    public boolean contains(CharSequence value) {
+        try {
+            return find(packer.applyAsLong(value)) >= 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return true if a packed standard number is in the index.
+     *
+     * @param key the packed standard number
+     * @return true if the packed standard number is in the index
+     */
+    public boolean containsPacked(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Return the payload of a standard number.
+     *
+     * @param value the standard number
+     * @param defaultValue the value to return if the standard number is not in the index or invalid
+     * @return the payload
+     * @throws IllegalStateException if the index has no payloads
+     */
+    public long get(CharSequence value, long defaultValue) {
+        long key;
+        try {
+            key = packer.applyAsLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+        return getPacked(key, defaultValue);
+    }
+
+    /**
+     * Return the payload of a packed standard number.
+     *
+     * @param key the packed standard number
+     * @param defaultValue the value to return if the packed standard number is not in the index
+     * @return the payload
+     * @throws IllegalStateException if the index has no payloads
+     */
+    public long getPacked(long key, long defaultValue) {
+        if (payloads == null) {
+            throw new IllegalStateException("index has no payloads");
+        }
+        long i = find(key);
+        return i >= 0 ? payloads[(int) (i >>> SEGMENT_SHIFT)].get((int) (i & (SEGMENT_LONGS - 1))) : defaultValue;
+    }
+
+    /**
+     * Return true if the index has payloads.
+     *
+     * @return true if the index has payloads
+     */
+    public boolean hasPayloads() {
+        return payloads != null;
+    }
+
+    /**
+     * Return the number of keys.
+     *
+     * @return the number of keys
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Find the position of a key. The search interpolates the position from the values of the keys
+     * at the bounds, which takes few steps for evenly spread keys like the packed standard numbers of a
+     * publisher, and alternates with bisection, so it never takes more than twice the steps of a binary
+     * search for skewed keys.
+     *
+     * @param key the key
+     * @return the position, or -1 if the key is not in the index
+     */
+    private long find(long key) {
+        long lo = 0L;
+        long hi = size - 1;
+        boolean interpolate = true;
+        while (hi - lo > LINEAR) {
+            long min = key(lo);
+            long max = key(hi);
+            // the bounds move past an absent key, which would move the interpolation out of the range
+            if (key < min || key > max) {
+                return -1L;
+            }
+            long mid;
+            if (interpolate && max > min) {
+                double fraction = ((double) key - min) / ((double) max - min);
+                mid = Math.max(lo, Math.min(hi, lo + (long) (fraction * (hi - lo))));
+            } else {
+                mid = (lo + hi) >>> 1;
+            }
+            interpolate = !interpolate;
+            long k = key(mid);
+            if (k < key) {
+                lo = mid + 1;
+            } else if (k > key) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        for (long i = lo; i <= hi; i++) {
+            long k = key(i);
+            if (k == key) {
+                return i;
+            }
+            if (k > key) {
+                break;
+            }
+        }
+        return -1L;
+    }
+
+    private long key(long i) {
+        return keys[(int) (i >>> SEGMENT_SHIFT)].get((int) (i & (SEGMENT_LONGS - 1)));
+    }
+
+    private static LongBuffer[] map(FileChannel channel, long position, long size) throws IOException {
+        LongBuffer[] segments = new LongBuffer[(int) ((size + SEGMENT_LONGS - 1) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long n = Math.min(SEGMENT_LONGS, size - (long) i * SEGMENT_LONGS);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    position + (long) i * SEGMENT_LONGS * Long.BYTES, n * Long.BYTES).asLongBuffer();
+        }
+        return segments;
+    }
+
+    /**
+     * A builder for an index file.
+     *
+     * The standard numbers can be added in any order. They are collected in runs in memory, every full
+     * run is sorted and written to a temporary file, and {@link #build(Path)}
+     * merges the runs into the index. So the memory of a builder is bounded by the run size,
+     * not by the number of standard numbers. If a standard number is added more than once,
+     * the smallest payload is kept.
+     *
+     * A builder is not thread safe.
+     */
+    public static final class Builder {
+
+        private final ToLongFunction<? super CharSequence> packer;
+
+        private boolean payloads;
+
+        private int runSize = 1 << 22;
+
+        private Path directory;
+
+        private long[] keys;
+
+        private long[] values;
+
+        private int n;
+
+        private final List<Path> runs;
+
+        private Builder(ToLongFunction<? super CharSequence> packer) {
+            this.packer = Objects.requireNonNull(packer);
+            this.runs = new ArrayList<>();
+        }
+
+        /**
+         * Set if the index has payloads. The default is false. Standard numbers that are added without
+         * a payload get the payload 0.
+         *
+         * @param payloads true if the index has payloads
+         * @return this builder
+         */
+        public Builder payloads(boolean payloads) {
+            this.payloads = payloads;
+            return this;
+        }
+
+        /**
+         * Set the number of standard numbers in a run. The default is 4194304, which takes 64 MiB
+         * of memory with payloads.
+         *
+         * @param runSize the run size
+         * @return this builder
+         */
+        public Builder runSize(int runSize) {
+            if (runSize <= 0) {
+                throw new IllegalArgumentException("run size must be positive: " + runSize);
+            }
+            this.runSize = runSize;
+            return this;
+        }
+
+        /**
+         * Set the directory for the temporary files. The default is the temporary directory of the system.
+         *
+         * @param directory the directory
+         * @return this builder
+         */
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Add a standard number.
+         *
+         * @param standardNumber the standard number
+         * @return this builder
+         * @throws NumberFormatException if the standard number is invalid
+         */
+        public Builder add(StandardNumber standardNumber) {
+            return add(standardNumber.normalizedValue(), 0L);
+        }
+
+        /**
+         * Add a standard number with a payload.
+         *
+         * @param standardNumber the standard number
+         * @param payload the payload
+         * @return this builder
+         * @throws NumberFormatException if the standard number is invalid
+         */
+        public Builder add(StandardNumber standardNumber, long payload) {
+            return add(standardNumber.normalizedValue(), payload);
+        }
+
+        /**
+         * Add a standard number.
+         *
+         * @param value the standard number
+         * @return this builder
+         * @throws NumberFormatException if the standard number is invalid
+         */
+        public Builder add(CharSequence value) {
+            return add(value, 0L);
+        }
+
+        /**
+         * Add a standard number with a payload.
+         *
+         * @param value the standard number
+         * @param payload the payload
+         * @return this builder
+         * @throws NumberFormatException if the standard number is invalid
+         */
+        public Builder add(CharSequence value, long payload) {
+            if (value == null) {
+                throw new NumberFormatException("null");
+            }
+            return addPacked(packer.applyAsLong(value), payload);
+        }
+
+        /**
+         * Add a packed standard number with a payload.
+         *
+         * @param key the packed standard number
+         * @param payload the payload
+         * @return this builder
+         */
+        public Builder addPacked(long key, long payload) {
+            if (keys == null) {
+                keys = new long[runSize];
+                values = new long[runSize];
+            }
+            if (n == keys.length) {
+                spill();
+            }
+            keys[n] = key;
+            values[n] = payloads ? payload : 0L;
+            n++;
+            return this;
+        }
+
+        /**
+         * Add a stream of standard numbers. Invalid standard numbers are skipped.
+         *
+         * @param standardNumbers the standard numbers
+         * @return the number of standard numbers that were valid
+         */
+        public long addAll(Stream<? extends StandardNumber> standardNumbers) {
+            long count = 0L;
+            Iterator<? extends StandardNumber> it = standardNumbers.iterator();
+            while (it.hasNext()) {
+                StandardNumber standardNumber = it.next();
+                if (standardNumber == null) {
+                    continue;
+                }
+                long key;
+                try {
+                    key = packer.applyAsLong(standardNumber.normalizedValue());
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                addPacked(key, 0L);
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Write the index to a new file. The builder is empty afterwards. If the build fails, the file
+         * is not created, so the build can be repeated with the same path.
+         *
+         * @param path the path of the file
+         * @return the number of keys in the index
+         * @throws IOException if the file exists or can not be written
+         */
+        public long build(Path path) throws IOException {
+            try {
+                if (runs.isEmpty()) {
+                    sort(keys, values, 0, n - 1);
+                    return write(path, new ArrayRun(keys, values, n));
+                }
+                spill();
+                List<Run> inputs = new ArrayList<>(runs.size());
+                try {
+                    for (Path run : runs) {
+                        inputs.add(new FileRun(run));
+                    }
+                    return write(path, new MergedRun(inputs));
+                } finally {
+                    for (Run input : inputs) {
+                        input.close();
+                    }
+                }
+            } finally {
+                for (Path run : runs) {
+                    Files.deleteIfExists(run);
+                }
+                runs.clear();
+                keys = null;
+                values = null;
+                n = 0;
+            }
+        }
+
+        private void spill() {
+            if (n == 0) {
+                return;
+            }
+            sort(keys, values, 0, n - 1);
+            try {
+                Path run = createTempFile();
+                runs.add(run);
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run),
+                        1 << 16))) {
+                    for (int i = 0; i < n; i++) {
+                        out.writeLong(keys[i]);
+                        out.writeLong(values[i]);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            n = 0;
+        }
+
+        /**
+         * Write the index to a temporary file next to the target and move it into place, so a failed
+         * build leaves no partial file behind.
+         */
+        private long write(Path path, Run run) throws IOException {
+            Path target = path.toAbsolutePath();
+            if (Files.exists(target)) {
+                throw new FileAlreadyExistsException(path.toString());
+            }
+            Path file = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Path payloadsRun = null;
+            try {
+                payloadsRun = payloads ? createTempFile() : null;
+                long size = 0L;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(file), 1 << 16));
+                     DataOutputStream payloadsOut = payloadsRun != null ? new DataOutputStream(new BufferedOutputStream(
+                             Files.newOutputStream(payloadsRun), 1 << 16)) : null) {
+                    out.write(new byte[HEADER]);
+                    boolean first = true;
+                    long last = 0L;
+                    while (run.next()) {
+                        if (!first && run.key() == last) {
+                            continue;
+                        }
+                        first = false;
+                        last = run.key();
+                        out.writeLong(last);
+                        if (payloadsOut != null) {
+                            payloadsOut.writeLong(run.value());
+                        }
+                        size++;
+                    }
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    if (payloadsRun != null) {
+                        try (FileChannel in = FileChannel.open(payloadsRun, StandardOpenOption.READ)) {
+                            long position = HEADER + size * Long.BYTES;
+                            long length = in.size();
+                            for (long done = 0L; done < length; ) {
+                                done += in.transferTo(done, length - done, channel.position(position + done));
+                            }
+                        }
+                    }
+                    ByteBuffer header = ByteBuffer.allocate(HEADER);
+                    header.putInt(MAGIC).putInt(VERSION).putLong(size).putInt(payloads ? FLAG_PAYLOADS : 0).flip();
+                    while (header.hasRemaining()) {
+                        channel.write(header, header.position());
+                    }
+                }
+                try {
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(file, target);
+                }
+                return size;
+            } finally {
+                Files.deleteIfExists(file);
+                if (payloadsRun != null) {
+                    Files.deleteIfExists(payloadsRun);
+                }
+            }
+        }
+
+        private Path createTempFile() throws IOException {
+            return directory != null ? Files.createTempFile(directory, "index", ".run")
+                    : Files.createTempFile("index", ".run");
+        }
+
+        /**
+         * Sort keys and values by key, then by value.
+         */
+        private static void sort(long[] keys, long[] values, int lo, int hi) {
+            while (hi - lo > 16) {
+                int mid = (lo + hi) >>> 1;
+                long pivotKey = keys[mid];
+                long pivotValue = values[mid];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (compare(keys[i], values[i], pivotKey, pivotValue) < 0) {
+                        i++;
+                    }
+                    while (compare(keys[j], values[j], pivotKey, pivotValue) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(keys, values, i++, j--);
+                    }
+                }
+                // recurse into the smaller part, so the stack depth is logarithmic
+                if (j - lo < hi - i) {
+                    sort(keys, values, lo, j);
+                    lo = i;
+                } else {
+                    sort(keys, values, i, hi);
+                    hi = j;
+                }
+            }
+            for (int i = lo + 1; i <= hi; i++) {
+                for (int j = i; j > lo && compare(keys[j - 1], values[j - 1], keys[j], values[j]) > 0; j--) {
+                    swap(keys, values, j - 1, j);
+                }
+            }
+        }
+
+        private static int compare(long key1, long value1, long key2, long value2) {
+            int c = Long.compare(key1, key2);
+            return c != 0 ? c : Long.compare(value1, value2);
+        }
+
+        private static void swap(long[] keys, long[] values, int i, int j) {
+            long k = keys[i];
+            keys[i] = keys[j];
+            keys[j] = k;
+            long v = values[i];
+            values[i] = values[j];
+            values[j] = v;
+        }
+    }
+
+    /**
+     * A sorted sequence of keys and values.
+     */
+    private interface Run {
+
+        boolean next() throws IOException;
+
+        long key();
+
+        long value();
+
+        default void close() throws IOException {
+        }
+    }
+
+    private static final class ArrayRun implements Run {
+
+        private final long[] keys;
+
+        private final long[] values;
+
+        private final int n;
+
+        private int i = -1;
+
+        ArrayRun(long[] keys, long[] values, int n) {
+            this.keys = keys;
+            this.values = values;
+            this.n = n;
+        }
+
+        @Override
+        public boolean next() {
+            return ++i < n;
+        }
+
+        @Override
+        public long key() {
+            return keys[i];
+        }
+
+        @Override
+        public long value() {
+            return values[i];
+        }
+    }
+
+    private static final class FileRun implements Run {
+
+        private final DataInputStream in;
+
+        private long key;
+
+        private long value;
+
+        FileRun(Path path) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            try {
+                key = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            value = in.readLong();
+            return true;
+        }
+
+        @Override
+        public long key() {
+            return key;
+        }
+
+        @Override
+        public long value() {
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class MergedRun implements Run {
+
+        private final PriorityQueue<Run> queue;
+
+        private Run current;
+
+        MergedRun(List<Run> runs) throws IOException {
+            this.queue = new PriorityQueue<>(Math.max(1, runs.size()), (r1, r2) ->
+                    Builder.compare(r1.key(), r1.value(), r2.key(), r2.value()));
+            for (Run run : runs) {
+                if (run.next()) {
+                    queue.add(run);
+                }
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (current != null && current.next()) {
+                queue.add(current);
+            }
+            current = queue.poll();
+            return current != null;
+        }
+
+        @Override
+        public long key() {
+            return current.key();
+        }
+
+        @Override
+        public long value() {
+            return current.value();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.xbib.standardnumber.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * A map from standard numbers to long values, e.g. record ids, outside of the Java heap.
+ *
+ * The keys are standard numbers in their packed form, see for example
+ * {@link org.xbib.standardnumber.ISBN#pack(CharSequence)}. The map is created with the pack function
+ * of the standard number type, which also defines which forms of a standard number are equivalent.
+ * With {@code ISBN::pack}, an ISBN-10 and its ISBN-13 find the same entry.
+ *
+ * The entries are stored with open addressing and linear probing in slots of sixteen bytes,
+ * in direct byte buffers or in a memory-mapped file. The map has a fixed capacity
+ * and entries can not be removed.
+ *
+ * The map is not synchronized. It is filled by one thread, then any number of threads can read it
+ * concurrently, provided that the map was safely published to them.
+ *
+ * A map in a file is created with {@link #create(Path, ToLongFunction, long)} and can be opened again
+ * in read-only mode with {@link #open(Path, ToLongFunction)}. The file consists of a header with a
+ * magic number, a version, the number of slots and the number of entries, followed by the slots,
+ * in big-endian order.
+ */
+public final class StandardNumberMap implements Closeable {
+
+    /**
+     * The magic number of a map file, {@code ISNM} in ASCII.
+     */
+    private static final int MAGIC = 0x49534e4d;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER = 24;
+
+    private static final int SLOT = 16;
+
+    /**
+     * The maximum number of slots in one buffer, so a buffer has at most 1 GiB.
+     */
+    private static final int SEGMENT_SLOTS = 1 << 26;
+
+    private static final int MAX_LOAD_PERCENT = 90;
+
+    private final ToLongFunction<? super CharSequence> packer;
+
+    private final ByteBuffer header;
+
+    private final ByteBuffer[] segments;
+
+    private final long mask;
+
+    private final int segmentShift;
+
+    private final long maxSize;
+
+    private long size;
+
+    private StandardNumberMap(ToLongFunction<? super CharSequence> packer, ByteBuffer header,
+                              ByteBuffer[] segments, long slots, long size) {
+        this.packer = Objects.requireNonNull(packer);
+        this.header = header;
+        this.segments = segments;
+        this.mask = slots - 1;
+        this.segmentShift = Long.numberOfTrailingZeros(Math.min(slots, SEGMENT_SLOTS));
+        this.maxSize = slots * MAX_LOAD_PERCENT / 100;
+        this.size = size;
+    }
+
+    /**
+     * Allocate a map in direct byte buffers.
+     *
+     * @param packer the pack function of the standard number type, e.g. {@code ISBN::pack}
+     * @param expectedSize the expected number of entries
+     * @return the map
+     */
+    public static StandardNumberMap allocate(ToLongFunction<? super CharSequence> packer, long expectedSize) {
+        long slots = slots(expectedSize);
+        ByteBuffer[] segments = new ByteBuffer[segments(slots)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect((int) (Math.min(slots, SEGMENT_SLOTS) * SLOT));
+        }
+        return new StandardNumberMap(packer, null, segments, slots, 0L);
+    }
+
+    /**
+     * Create a map in a new file. The entries are forced to the storage device when the map is closed.
+     *
+     * @param path the path of the file
+     * @param packer the pack function of the standard number type, e.g. {@code ISBN::pack}
+     * @param expectedSize the expected number of entries
+     * @return the map
+     * @throws IOException if the file exists or can not be created
+     */
+    public static StandardNumberMap create(Path path, ToLongFunction<? super CharSequence> packer,
+                                           long expectedSize) throws IOException {
+        long slots = slots(expectedSize);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER);
+            header.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, slots).putLong(16, 0L);
+            return new StandardNumberMap(packer, header,
+                    map(channel, FileChannel.MapMode.READ_WRITE, slots), slots, 0L);
+        }
+    }
+
+    /**
+     * Open a map in a file in read-only mode.
+     *
+     * @param path the path of the file
+     * @param packer the pack function of the standard number type that was used for creating the map
+     * @return the map
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file is not a map file
+     */
+    public static StandardNumberMap open(Path path, ToLongFunction<? super CharSequence> packer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IllegalArgumentException("not a map file: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0L, HEADER);
+            long slots = header.getLong(8);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || slots <= 0
+                    || Long.bitCount(slots) != 1 || channel.size() != HEADER + slots * SLOT) {
+                throw new IllegalArgumentException("not a map file: " + path);
+            }
+            return new StandardNumberMap(packer, header,
+                    map(channel, FileChannel.MapMode.READ_ONLY, slots), slots, header.getLong(16));
+        }
+    }
+
+    /**
+     * Return the value for a standard number.
+     *
+     * @param value the standard number
+     * @param defaultValue the value to return if there is no entry or if the standard number is invalid
+     * @return the value
+     */
+    public long get(CharSequence value, long defaultValue) {
+        long key;
+        try {
+            key = packer.applyAsLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+        return getPacked(key, defaultValue);
+    }
+
+    /**
+     * Return the value for a packed standard number.
+     *
+     * @param key the packed standard number
+     * @param defaultValue the value to return if there is no entry
+     * @return the value
+     */
+    public long getPacked(long key, long defaultValue) {
+        long slot = find(key);
+        return slot >= 0 ? segments[(int) (slot >>> segmentShift)].getLong(offset(slot) + 8) : defaultValue;
+    }
+
+    /**
+     * Return true if there is an entry for a standard number.
+     *
+     * @param value the standard number
+     * @return true if there is an entry, false otherwise
+     */
+    public boolean containsKey(CharSequence value) {
+        try {
+            return find(packer.applyAsLong(value)) >= 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Put a value for a standard number, replacing the value of an existing entry.
+     *
+     * @param value the standard number
+     * @param v the value
+     * @return true if a new entry was added, false if an entry was replaced
+     * @throws NumberFormatException if the standard number is invalid
+     * @throws IllegalStateException if the map is full
+     */
+    public boolean put(CharSequence value, long v) {
+        return putPacked(packer.applyAsLong(value), v);
+    }
+
+    /**
+     * Put a value for a packed standard number, replacing the value of an existing entry.
+     *
+     * @param key the packed standard number
+     * @param v the value
+     * @return true if a new entry was added, false if an entry was replaced
+     * @throws IllegalArgumentException if the key is negative
+     * @throws IllegalStateException if the map is full
+     */
+    public boolean putPacked(long key, long v) {
+        if (key < 0) {
+            throw new IllegalArgumentException("negative key: " + key);
+        }
+        for (long slot = Hashing.mix(key) & mask; ; slot = (slot + 1) & mask) {
+            ByteBuffer segment = segments[(int) (slot >>> segmentShift)];
+            int offset = offset(slot);
+            long k = segment.getLong(offset);
+            if (k == key + 1) {
+                segment.putLong(offset + 8, v);
+                return false;
+            }
+            if (k == 0L) {
+                if (size >= maxSize) {
+                    throw new IllegalStateException("map is full: " + size);
+                }
+                segment.putLong(offset, key + 1).putLong(offset + 8, v);
+                size++;
+                if (header != null) {
+                    header.putLong(16, size);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Put values for many standard numbers. Invalid standard numbers are skipped.
+     *
+     * @param values the standard numbers
+     * @param v the values, with the same index as the standard numbers
+     * @return the number of standard numbers that were valid
+     * @throws IllegalStateException if the map is full
+     */
+    public long putAll(CharSequence[] values, long[] v) {
+        if (v.length < values.length) {
+            throw new IllegalArgumentException("values array too short: " + v.length);
+        }
+        long n = 0L;
+        for (int i = 0; i < values.length; i++) {
+            long key;
+            try {
+                key = packer.applyAsLong(values[i]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            putPacked(key, v[i]);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return the number of slots. At most 90 percent of the slots can be used.
+     *
+     * @return the number of slots
+     */
+    public long capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Force the entries of a map in a file to the storage device. A map in direct buffers is not affected.
+     */
+    @Override
+    public void close() {
+        if (header instanceof MappedByteBuffer && !header.isReadOnly()) {
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+            ((MappedByteBuffer) header).force();
+        }
+    }
+
+    private long find(long key) {
+        if (key < 0) {
+            return -1L;
+        }
+        for (long slot = Hashing.mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long k = segments[(int) (slot >>> segmentShift)].getLong(offset(slot));
+            if (k == key + 1) {
+                return slot;
+            }
+            if (k == 0L) {
+                return -1L;
+            }
+        }
+    }
+
+    private int offset(long slot) {
+        return (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT;
+    }
+
+    private static long slots(long expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative size: " + expectedSize);
+        }
+        long n = Math.max(16L, expectedSize * 100 / MAX_LOAD_PERCENT + 1);
+        return Long.highestOneBit(n - 1) << 1;
+    }
+
+    private static int segments(long slots) {
+        return (int) Math.max(1L, slots / SEGMENT_SLOTS);
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long slots) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segments(slots)];
+        long length = Math.min(slots, SEGMENT_SLOTS) * SLOT;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = channel.map(mode, HEADER + i * length, length);
+        }
+        return segments;
+    }
+}
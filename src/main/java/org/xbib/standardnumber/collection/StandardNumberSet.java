@@ -0,0 +1,349 @@
+package org.xbib.standardnumber.collection;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import org.xbib.standardnumber.StandardNumber;
+
+/**
+ * A concurrent set of standard numbers for removing duplicates from streams of standard numbers.
+ *
+ * The keys are standard numbers in their packed form, see for example
+ * {@link org.xbib.standardnumber.ISBN#pack(CharSequence)}, so the set does not depend on
+ * {@link Object#hashCode()} of mutable standard number instances. The set is created with the pack function
+ * of the standard number type, which also defines which forms of a standard number are equivalent.
+ *
+ * The set is lock-free. The packed standard numbers are stored with open addressing and linear probing
+ * in an {@link AtomicLongArray} and are added with compare-and-set, with no shared counter on the path of
+ * an add. When the set is three quarters full, a table of twice the size is added. The threads that
+ * access the set move the packed standard numbers to the new table in chunks, while other threads keep
+ * adding and finding standard numbers. {@link #clear()} starts a new window by replacing the table,
+ * so it does not wait for threads that are adding standard numbers. An add that overlaps with a clear
+ * belongs to the window before the clear.
+ *
+ * The set does not support removing standard numbers.
+ */
+public final class StandardNumberSet {
+
+    /**
+     * The flag of a slot that was moved to the next table. A moved slot without a key was empty.
+     */
+    private static final long MOVED = Long.MIN_VALUE;
+
+    /**
+     * The largest packed standard number, so a key plus one never reaches the flag.
+     */
+    private static final long MAX_KEY = (1L << 62) - 2;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The number of slots that a thread moves at once.
+     */
+    private static final int CHUNK = 1024;
+
+    /**
+     * The number of probes of an add after which the set checks if the table is full.
+     */
+    private static final int CHECK_PROBES = 4;
+
+    private static final int ADDED = 0;
+
+    private static final int PRESENT = 1;
+
+    private static final int ABSENT = 2;
+
+    private static final int NEXT = 3;
+
+    private final ToLongFunction<? super CharSequence> packer;
+
+    private final AtomicReference<Table> root;
+
+    private StandardNumberSet(ToLongFunction<? super CharSequence> packer, int capacity) {
+        this.packer = Objects.requireNonNull(packer);
+        this.root = new AtomicReference<>(new Table(capacity));
+    }
+
+    /**
+     * Create a set.
+     *
+     * @param packer the pack function of the standard number type, e.g. {@code ISBN::pack}
+     * @param expectedSize the expected number of standard numbers in a window
+     * @return the set
+     */
+    public static StandardNumberSet create(ToLongFunction<? super CharSequence> packer, int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative size: " + expectedSize);
+        }
+        long n = Math.max(MIN_CAPACITY, expectedSize * 4L / 3 + 1);
+        return new StandardNumberSet(packer, (int) Math.min(MAX_CAPACITY, Long.highestOneBit(n - 1) << 1));
+    }
+
+    /**
+     * Add a standard number if it is not in the set.
+     *
+     * @param value the standard number
+     * @return true if the standard number was added, false if it was in the set
+     * @throws NumberFormatException if the standard number is invalid
+     */
+    public boolean addIfAbsent(CharSequence value) {
+        return addPackedIfAbsent(packer.applyAsLong(value));
+    }
+
+    /**
+     * Add a standard number by its normalized value if it is not in the set.
+     *
+     * @param standardNumber the standard number
+     * @return true if the standard number was added, false if it was in the set
+     * @throws NumberFormatException if the standard number is invalid
+     */
+    public boolean addIfAbsent(StandardNumber standardNumber) {
+        return addIfAbsent(standardNumber.normalizedValue());
+    }
+
+    /**
+     * Add a packed standard number if it is not in the set.
+     *
+     * @param key the packed standard number
+     * @return true if the packed standard number was added, false if it was in the set
+     * @throws IllegalArgumentException if the key is negative or too large
+     * @throws IllegalStateException if the set can not grow
+     */
+    public boolean addPackedIfAbsent(long key) {
+        if (key < 0 || key > MAX_KEY) {
+            throw new IllegalArgumentException("key out of range: " + key);
+        }
+        Table table = root.get();
+        if (table.next.get() != null) {
+            table.move(root);
+        }
+        while (true) {
+            int result = table.add(key + 1, true);
+            if (result != NEXT) {
+                return result == ADDED;
+            }
+            table = table.next.get();
+        }
+    }
+
+    /**
+     * Return true if a standard number is in the set.
+     *
+     * @param value the standard number
+     * @return true if the standard number is in the set, false if not or if it is invalid
+     */
+    public boolean contains(CharSequence value) {
+        long key;
+        try {
+            key = packer.applyAsLong(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return containsPacked(key);
+    }
+
+    /**
+     * Return true if a packed standard number is in the set.
+     *
+     * @param key the packed standard number
+     * @return true if the packed standard number is in the set
+     */
+    public boolean containsPacked(long key) {
+        if (key < 0 || key > MAX_KEY) {
+            return false;
+        }
+        Table table = root.get();
+        while (true) {
+            int result = table.find(key + 1);
+            if (result != NEXT) {
+                return result == PRESENT;
+            }
+            table = table.next.get();
+        }
+    }
+
+    /**
+     * Remove all standard numbers and start a new window. The new window starts with the capacity
+     * of the current window.
+     */
+    public void clear() {
+        root.set(new Table(root.get().capacity()));
+    }
+
+    /**
+     * Return the number of standard numbers in the set. While the set grows or while standard numbers
+     * are added, the number is an estimate.
+     *
+     * @return the number of standard numbers
+     */
+    public long size() {
+        Table table = root.get();
+        long size = table.count.sum();
+        for (table = table.next.get(); table != null; table = table.next.get()) {
+            size += table.direct.sum();
+        }
+        return size;
+    }
+
+    /**
+     * Return the number of slots of the current table.
+     *
+     * @return the number of slots
+     */
+    public int capacity() {
+        return root.get().capacity();
+    }
+
+    private static final class Table {
+
+        private final AtomicLongArray slots;
+
+        private final int mask;
+
+        private final long threshold;
+
+        private final AtomicReference<Table> next;
+
+        /**
+         * The number of slots that were claimed for moving.
+         */
+        private final AtomicLong claimed;
+
+        /**
+         * The number of slots that were moved.
+         */
+        private final AtomicLong moved;
+
+        /**
+         * The number of keys in this table.
+         */
+        private final LongAdder count;
+
+        /**
+         * The number of keys that were added to this table and not moved from a previous table.
+         */
+        private final LongAdder direct;
+
+        Table(int capacity) {
+            this.slots = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.threshold = capacity * 3L / 4;
+            this.next = new AtomicReference<>();
+            this.claimed = new AtomicLong();
+            this.moved = new AtomicLong();
+            this.count = new LongAdder();
+            this.direct = new LongAdder();
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        /**
+         * Add a key plus one.
+         *
+         * @return ADDED, PRESENT, or NEXT if the key must be added to the next table
+         */
+        int add(long v, boolean isDirect) {
+            int i = (int) Hashing.mix(v - 1) & mask;
+            for (int probes = 0; probes <= mask; ) {
+                long s = slots.get(i);
+                if (s == 0L) {
+                    if (!slots.compareAndSet(i, 0L, v)) {
+                        continue;
+                    }
+                    count.increment();
+                    if (isDirect) {
+                        direct.increment();
+                    }
+                    if (probes >= CHECK_PROBES && next.get() == null && capacity() < MAX_CAPACITY
+                            && count.sum() > threshold) {
+                        grow();
+                    }
+                    return ADDED;
+                }
+                if (s == v) {
+                    return PRESENT;
+                }
+                if (s == (v | MOVED) || s == MOVED) {
+                    return NEXT;
+                }
+                i = (i + 1) & mask;
+                probes++;
+            }
+            grow();
+            return NEXT;
+        }
+
+        /**
+         * Find a key plus one.
+         *
+         * @return PRESENT, ABSENT, or NEXT if the key must be found in the next table
+         */
+        int find(long v) {
+            int i = (int) Hashing.mix(v - 1) & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long s = slots.get(i);
+                if (s == v) {
+                    return PRESENT;
+                }
+                if (s == 0L) {
+                    return ABSENT;
+                }
+                if (s == (v | MOVED) || s == MOVED) {
+                    return NEXT;
+                }
+                i = (i + 1) & mask;
+            }
+            return next.get() != null ? NEXT : ABSENT;
+        }
+
+        private void grow() {
+            if (next.get() == null) {
+                if (capacity() == MAX_CAPACITY) {
+                    throw new IllegalStateException("set is full: " + count.sum());
+                }
+                next.compareAndSet(null, new Table(capacity() * 2));
+            }
+        }
+
+        /**
+         * Move a chunk of slots to the next table, and make the next table the root
+         * when all slots were moved.
+         *
+         * A key is added to the next table before its slot is flagged, so a key is always
+         * found in one of the tables. An empty slot is flagged, so no key can be added behind it.
+         */
+        void move(AtomicReference<Table> root) {
+            long start = claimed.getAndAdd(CHUNK);
+            if (start > mask) {
+                return;
+            }
+            int end = (int) Math.min(start + CHUNK, mask + 1L);
+            for (int i = (int) start; i < end; i++) {
+                while (true) {
+                    long s = slots.get(i);
+                    if ((s & MOVED) != 0L) {
+                        break;
+                    }
+                    if (s != 0L) {
+                        for (Table table = next.get(); table.add(s, false) == NEXT; ) {
+                            table = table.next.get();
+                        }
+                    }
+                    if (slots.compareAndSet(i, s, s | MOVED)) {
+                        break;
+                    }
+                }
+            }
+            if (moved.addAndGet(end - start) == mask + 1L) {
+                root.compareAndSet(this, next.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Collections of standard numbers in their packed form.
+ */
+package org.xbib.standardnumber.collection;
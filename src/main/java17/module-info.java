@@ -0,0 +1,9 @@
+module org.xbib.standardnumber {
+    exports org.xbib.standardnumber;
+    exports org.xbib.standardnumber.checksum;
+    exports org.xbib.standardnumber.checksum.iso7064;
+    exports org.xbib.standardnumber.collection;
+    requires static java.xml; // for reading the ISBN range message if the binary range table is missing
+    requires static jdk.incubator.vector; // for verifying batches of GTIN check digits
+    uses org.xbib.standardnumber.StandardNumberProvider;
+}
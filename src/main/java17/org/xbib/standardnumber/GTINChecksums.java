@@ -0,0 +1,42 @@
+package org.xbib.standardnumber;
+
+/**
+ * A kernel for verifying the GTIN check digits of a batch of codes.
+ *
+ * This version uses the Vector API if the module {@code jdk.incubator.vector} is present,
+ * e.g. with {@code --add-modules jdk.incubator.vector}. Otherwise it verifies no codes,
+ * so all codes are verified by the scalar loop of
+ * {@link StandardNumbers#verifyGTIN(byte[], int, java.util.BitSet)}.
+ */
+final class GTINChecksums {
+
+    private static final boolean VECTOR = isVectorAvailable();
+
+    private GTINChecksums() {
+    }
+
+    /**
+     * Verify the codes at the start of a batch.
+     *
+     * @param codes the codes, ASCII digits of a fixed width, one after the other
+     * @param count the number of codes
+     * @param width the width of a code
+     * @param words the valid flags, bit i is set if code i is valid
+     * @return the number of codes that were verified
+     */
+    static int verify(byte[] codes, int count, int width, long[] words) {
+        return VECTOR && width <= GTINVectorChecksums.MAX_WIDTH
+                ? GTINVectorChecksums.verify(codes, count, width, words) : 0;
+    }
+
+    private static boolean isVectorAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return GTINVectorChecksums.MAX_WIDTH > 0;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
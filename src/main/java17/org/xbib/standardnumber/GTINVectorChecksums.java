@@ -0,0 +1,52 @@
+package org.xbib.standardnumber;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Verify GTIN check digits with the Vector API.
+ *
+ * Every code is loaded into one vector of 16 bytes, which checks all digits of the code at once.
+ * The digits are multiplied by the weights 1 and 3 from the right, and the weighted digits of each half
+ * of the vector are added up by multiplying the half with {@code 0x0101010101010101}, which sums
+ * all bytes into the highest byte. A weighted digit is at most 27, so eight of them fit into a byte.
+ *
+ * Loading several codes into a wider vector requires byte gathers or byte shuffles,
+ * which are slower than this on many processors.
+ */
+final class GTINVectorChecksums {
+
+    static final int MAX_WIDTH = 16;
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+
+    private static final long BYTE_SUM = 0x0101010101010101L;
+
+    private GTINVectorChecksums() {
+    }
+
+    static int verify(byte[] codes, int count, int width, long[] words) {
+        byte[] weights = new byte[SPECIES.length()];
+        for (int j = 0; j < width; j++) {
+            weights[j] = (byte) (((width - 1 - j) & 1) == 0 ? 1 : 3);
+        }
+        ByteVector weight = ByteVector.fromArray(SPECIES, weights, 0);
+        VectorMask<Byte> digits = SPECIES.indexInRange(0, width);
+        int c = 0;
+        // the last codes are left to the scalar loop, a vector would read beyond the array
+        for (int offset = 0; c < count && offset + SPECIES.length() <= codes.length; c++, offset += width) {
+            ByteVector d = ByteVector.fromArray(SPECIES, codes, offset).sub((byte) '0');
+            if (d.compare(VectorOperators.UNSIGNED_GT, (byte) 9, digits).anyTrue()) {
+                continue;
+            }
+            LongVector sums = d.mul(weight).reinterpretAsLongs().mul(BYTE_SUM).lanewise(VectorOperators.LSHR, 56);
+            if ((sums.lane(0) + sums.lane(1)) % 10 == 0) {
+                words[c >>> 6] |= 1L << c;
+            }
+        }
+        return c;
+    }
+}
@@ -1,6 +1,8 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -21,4 +23,12 @@ public class DOITests {
         StandardNumber doi2 = (StandardNumber) doi.clone();
         assertEquals(doi, doi2);
     }
+
+    @Test
+    public void testStaticIsValid() {
+        assertTrue(DOI.isValid("10.1016/0032-3861(93)90481-o", 0, 28));
+        assertTrue(DOI.isValid("https://doi.org/10.1000/182", 0, 27));
+        assertFalse(DOI.isValid("10.10/182", 0, 9));
+        assertFalse(DOI.isValid("https://example.org/10.1000/182", 0, 31));
+    }
 }
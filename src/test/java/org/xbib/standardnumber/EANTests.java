@@ -1,6 +1,7 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -32,5 +33,10 @@ public class EANTests {
         assertEquals("9781617291623", ean.format());
     }
 
-
+    @Test
+    public void testBytes() {
+        byte[] bytes = "9781617291623 9781617291624".getBytes(StandardCharsets.UTF_8);
+        assertEquals(true, EAN.isValid(bytes, 0, 13));
+        assertEquals(false, EAN.isValid(bytes, 14, 13));
+    }
 }
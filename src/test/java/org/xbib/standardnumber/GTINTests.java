@@ -1,6 +1,11 @@
 package org.xbib.standardnumber;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -39,4 +44,33 @@ public class GTINTests {
         assertEquals("9783652002264", gtin.normalizedValue());
         assertEquals("9783652002264", gtin.format());
     }
+
+    @Test
+    public void testValue() {
+        GTINValue gtin = GTINValue.parse("978-3-65-200226-4");
+        assertEquals(gtin, GTINValue.parse("9783652002264"));
+        assertEquals(9783652002264L, gtin.toLong());
+        assertEquals(13, gtin.length());
+        assertEquals("00012345600012", GTINValue.parse("00012345600012").toString());
+        assertNotEquals(GTINValue.parse("00012345600012"), GTINValue.parse("0012345600012"));
+        Assertions.assertThrows(NumberFormatException.class, () -> GTINValue.parse("9783652002265"));
+    }
+
+    @Test
+    public void testPack() {
+        long gtin = GTIN.pack("00614141000036");
+        assertEquals("00614141000036", GTIN.unpack(gtin, new StringBuilder()).toString());
+        assertEquals("40123455", GTIN.unpack(GTIN.pack("40123455"), new StringBuilder()).toString());
+        assertTrue(GTIN.pack("40123455") < gtin);
+        Assertions.assertThrows(NumberFormatException.class, () -> GTIN.pack("00614141000037"));
+    }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = "40123455 00614141000036 0061414100003 4012345678901".getBytes(StandardCharsets.UTF_8);
+        assertTrue(GTIN.isValid(bytes, 0, 8));
+        assertTrue(GTIN.isValid(bytes, 9, 14));
+        assertFalse(GTIN.isValid(bytes, 24, 13));
+        assertTrue(GTIN.isValid(bytes, 38, 13));
+    }
 }
@@ -24,6 +24,25 @@ public class IBANTests {
         assertEquals("NL91ABNA0417164300", iban.format());
     }
 
+    @Test
+    public void testIBANVerifyResult() {
+        assertEquals(ValidationResult.VALID, new IBAN().set("GB82 WEST 1234 5698 7654 32").normalize().verifyResult());
+        assertEquals(ValidationResult.BAD_CHECKSUM, new IBAN().set("GB83 WEST 1234 5698 7654 32").normalize().verifyResult());
+        assertEquals(ValidationResult.BAD_LENGTH,
+                new IBAN().set("GB00 WEST 1234 5698 7654").createChecksum(true).normalize().verifyResult());
+        assertEquals(ValidationResult.UNKNOWN_COUNTRY,
+                new IBAN().set("XY00 WEST 1234 5698 7654 32").createChecksum(true).normalize().verifyResult());
+        assertEquals(ValidationResult.MALFORMED, new IBAN().verifyResult());
+    }
+
+    @Test
+    public void testIBANChecksum() throws Exception {
+        StandardNumber iban = new IBAN().set("GB00 WEST 1234 5698 7654 32").createChecksum(true).normalize().verify();
+        assertEquals("GB82WEST12345698765432", iban.normalizedValue());
+        iban = new IBAN().set("NO0086011117947").createChecksum(true).normalize().verify();
+        assertEquals("NO9386011117947", iban.normalizedValue());
+    }
+
     public void testIncorrectIBANS() throws Exception {
         String[] str = new String[]{
                 "MT87MALT011000012345MTLCAST001S",
@@ -1,6 +1,22 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -58,6 +74,17 @@ public class ISBNTests {
         assertEquals("978-3-551-75213-0", isbn.format());
     }
 
+    @Test
+    public void testCountryAndPublisherCode() {
+        ISBN isbn = new ISBN().ean(true);
+        isbn.set("9780306406157").normalize().verify();
+        assertEquals("978-0-306-40615-7", isbn.format());
+        assertEquals("978-0-306", isbn.getCountryAndPublisherCode());
+        isbn.set("9791032705346").normalize().verify();
+        assertEquals("979-10-327-0534-6", isbn.format());
+        assertEquals("979-10-327", isbn.getCountryAndPublisherCode());
+    }
+
     @Test
     public void testWrongAndDirtyEAN() {
         Assertions.assertThrows(NumberFormatException.class, () ->{
@@ -92,4 +119,120 @@ public class ISBNTests {
             }
         }
     }
+
+    @Test
+    public void testStaticIsValid() {
+        assertTrue(ISBN.isValid("ISBN 978-0-306-40615-7", 5, 22));
+        assertTrue(ISBN.isValid("3-9803350-5-4", 0, 13));
+        assertFalse(ISBN.isValid("978-0-306-40615-8", 0, 17));
+        assertFalse(ISBN.isValid("3-9803350-5-4", 0, 12));
+    }
+
+    @Test
+    public void testValue() {
+        ISBNValue isbn = ISBNValue.parse("3-9803350-5-4");
+        assertEquals(isbn, ISBNValue.parse("978-3-9803350-5-8"));
+        assertEquals(isbn.hashCode(), ISBNValue.parse("9783980335058").hashCode());
+        assertEquals(9783980335058L, isbn.toLong());
+        assertEquals("9783980335058", isbn.toISBN13());
+        assertEquals("3980335054", isbn.toISBN10());
+        assertEquals("978-3-9803350-5-8", isbn.format());
+        assertEquals("0306406152", ISBNValue.parse("9780306406157").toISBN10());
+        assertEquals("080442957X", ISBNValue.parse("080442957X").toISBN10());
+        assertNull(ISBNValue.parse("979-10-327-0534-6").toISBN10());
+        Assertions.assertThrows(NumberFormatException.class, () -> ISBNValue.parse("3-9803350-5-5"));
+    }
+
+    @Test
+    public void testRangeTable() throws Exception {
+        ISBNRangeIndex index;
+        try (InputStream in = getClass().getResourceAsStream("/org/xbib/standardnumber/RangeMessage.xml")) {
+            index = ISBNRangeIndex.read(in);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.write(out);
+        ISBNRangeIndex table = ISBNRangeIndex.read(new ByteArrayInputStream(out.toByteArray()));
+        for (String isbn : new String[] { "9783551752130", "9780306406157", "9791032705346", "9786026039036" }) {
+            int rule = index.find(isbn);
+            assertEquals(rule, table.find(isbn));
+            assertEquals(index.hyphenate(rule, isbn), table.hyphenate(rule, isbn));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                ISBNRangeIndex.read(ByteBuffer.wrap(Arrays.copyOf(out.toByteArray(), out.size() - 1))));
+    }
+
+    @AfterEach
+    public void restoreRanges() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/org/xbib/standardnumber/RangeMessage.xml")) {
+            ISBN.loadRanges(in);
+        }
+    }
+
+    @Test
+    public void testLoadRanges() throws Exception {
+        Path dir = Files.createTempDirectory("isbn");
+        Path file = dir.resolve("RangeMessage.bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                ISBNRangeIndex.of(Arrays.asList("978-0-00", "978-0-19")).write(out);
+            }
+            ISBN.loadRanges(file);
+            assertEquals("978-0-00-712345-2", ISBN.fix("9780007123452"));
+            assertEquals("9783551752130", ISBN.fix("9783551752130"));
+            Assertions.assertThrows(IllegalArgumentException.class, () ->
+                    ISBN.loadRanges(new ByteArrayInputStream(new byte[] { 1, 2, 3 })));
+            assertEquals("978-0-00-712345-2", ISBN.fix("9780007123452"));
+            CountDownLatch reloaded = new CountDownLatch(1);
+            ISBNRangeWatcher watcher = new ISBNRangeWatcher(file, e -> { }, reloaded::countDown);
+            try {
+                try (InputStream in = getClass().getResourceAsStream("/org/xbib/standardnumber/RangeMessage.xml");
+                     OutputStream out = Files.newOutputStream(file.resolveSibling("tmp"))) {
+                    ISBNRangeIndex.read(in).write(out);
+                }
+                Files.move(file.resolveSibling("tmp"), file, StandardCopyOption.REPLACE_EXISTING);
+                assertTrue(reloaded.await(30L, TimeUnit.SECONDS));
+                assertEquals("978-3-551-75213-0", ISBN.fix("9783551752130"));
+            } finally {
+                watcher.close();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testPack() {
+        assertEquals(9783551752130L, ISBN.pack("978-3-551-75213-0"));
+        assertEquals(9783980335058L, ISBN.pack("3-9803350-5-4"));
+        assertEquals("9783980335058", ISBN.unpack(ISBN.pack("3-9803350-5-4"), new StringBuilder()).toString());
+        assertTrue(ISBN.pack("978-3-551-75213-0") < ISBN.pack("3-9803350-5-4"));
+        Assertions.assertThrows(NumberFormatException.class, () -> ISBN.pack("978-3-551-75213-1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ISBN.unpack(42L, new StringBuilder()));
+    }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = "isbn 978-3-551-75213-0 3551752133 9783551752131 080442957X 978-3\u20105517521-3-0"
+                .getBytes(StandardCharsets.UTF_8);
+        assertTrue(ISBN.isValid(bytes, 5, 17));
+        assertTrue(ISBN.isValid(bytes, 23, 10));
+        assertFalse(ISBN.isValid(bytes, 34, 13));
+        assertTrue(ISBN.isValid(bytes, 48, 10));
+        assertFalse(ISBN.isValid(bytes, 59, 19));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ISBN.isValid(bytes, 70, 10));
+    }
+
+    @Test
+    public void testSequence() {
+        byte[] out = new byte[13 * 1000];
+        assertEquals(13 * 1000, ISBN.sequence("978-3-551", 98500, 1000, out, 0));
+        assertEquals("978355198500", new String(out, 0, 12, StandardCharsets.US_ASCII));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ISBN.isValid(out, 13 * i, 13));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ISBN.sequence("978-3-55", 0, 1, out, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ISBN.sequence("978-3-551", 99999, 2, out, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ISBN.sequence("978-3-551", 0, 1000, out, 13));
+    }
 }
@@ -1,6 +1,10 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -34,4 +38,29 @@ public class ISMNTests {
         assertEquals("9790345246805", ismn.format());
         assertEquals("9790345246805", ismn.toGTIN().normalizedValue());
     }
+
+    @Test
+    public void testStaticIsValid() {
+        assertTrue(ISMN.isValid("M-2306-7118-7", 0, 13));
+        assertTrue(ISMN.isValid("979-0-3452-4680-5", 0, 17));
+        assertFalse(ISMN.isValid("979-0-3452-4680-6", 0, 17));
+    }
+
+    @Test
+    public void testPack() {
+        assertEquals(9790230671187L, ISMN.pack("M-2306-7118-7"));
+        assertEquals(9790230671187L, ISMN.pack("979-0-2306-7118-7"));
+        assertEquals("9790230671187", ISMN.unpack(9790230671187L, new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testSequence() {
+        byte[] out = new byte[13 * 20];
+        assertEquals(13 * 20, ISMN.sequence("M-2306", 9990, 10, out, 13 * 10));
+        for (int i = 10; i < 20; i++) {
+            assertTrue(ISMN.isValid(new String(out, 13 * i, 13, StandardCharsets.US_ASCII), 0, 13));
+        }
+        assertEquals("9790230699907", new String(out, 13 * 10, 13, StandardCharsets.US_ASCII));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ISMN.sequence("979-0-12", 0, 1, out, 0));
+    }
 }
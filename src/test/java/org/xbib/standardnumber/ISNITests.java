@@ -49,4 +49,11 @@ public class ISNITests {
         assertEquals("0000000121953271", isni.normalizedValue());
         assertEquals("0000000121953271", isni.format());
     }
+
+    @Test
+    public void testPack() {
+        assertEquals(12195327L, ISNI.pack("0000 0001 2195 3271"));
+        assertEquals("0000000121953271", ISNI.unpack(12195327L, new StringBuilder()).toString());
+        assertEquals("0000000218250097", ISNI.unpack(ISNI.pack("0000-0002-1825-0097"), new StringBuilder()).toString());
+    }
 }
@@ -1,6 +1,9 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -43,4 +46,39 @@ public class ISSNTests {
             new ISSN().set(value).createChecksum(true).normalize().verify();
         });
     }
+
+    @Test
+    public void testStaticIsValid() {
+        assertTrue(ISSN.isValid("1869-7127", 0, 9));
+        assertTrue(ISSN.isValid("ISSN 0729-011X", 5, 14));
+        assertFalse(ISSN.isValid("1869-7128", 0, 9));
+        assertFalse(ISSN.isValid("18-697127", 0, 9));
+    }
+
+    @Test
+    public void testValue() {
+        ISSNValue issn = ISSNValue.parse("0729-011X");
+        assertEquals(issn, ISSNValue.parse("0729011x"));
+        assertEquals(729011, issn.toInt());
+        assertEquals("0729011X", issn.toString());
+        assertEquals("0729-011X", issn.format());
+        assertEquals("9771869712007", ISSNValue.parse("1869-7127").toGTIN().toString());
+        Assertions.assertThrows(NumberFormatException.class, () -> ISSNValue.parse("1869-7128"));
+    }
+
+    @Test
+    public void testPack() {
+        assertEquals(729011, ISSN.pack("0729-011X"));
+        assertEquals("0729011X", ISSN.unpack(ISSN.pack("0729-011X"), new StringBuilder()).toString());
+        assertEquals("18697127", ISSN.unpack(ISSN.pack("1869-7127"), new StringBuilder()).toString());
+        Assertions.assertThrows(NumberFormatException.class, () -> ISSN.pack("1869-7128"));
+    }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = "0378-5955 0729011x 18697128".getBytes(StandardCharsets.UTF_8);
+        assertTrue(ISSN.isValid(bytes, 0, 9));
+        assertTrue(ISSN.isValid(bytes, 10, 8));
+        assertFalse(ISSN.isValid(bytes, 19, 8));
+    }
 }
@@ -1,6 +1,8 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -49,4 +51,19 @@ public class ISTCTests {
         assertEquals("A02201031F4CB2CB", istc.normalizedValue());
         assertEquals("ISTC A02-2010-31F4CB2C-B", istc.format());
     }
+
+    @Test
+    public void testStaticIsValid() {
+        assertTrue(ISTC.isValid("ISTC A02-2009-000004BE-A", 0, 24));
+        assertTrue(ISTC.isValid("0A920021223F3320", 0, 16));
+        assertFalse(ISTC.isValid("0A920021223F3321", 0, 16));
+    }
+
+    @Test
+    public void testPack() {
+        long istc = ISTC.pack("ISTC A02-2009-000004BE-A");
+        assertEquals(0xA022009000004BEL, istc);
+        assertEquals("A022009000004BEA", ISTC.unpack(istc, new StringBuilder()).toString());
+        assertEquals("0A920021223F3320", ISTC.unpack(ISTC.pack("0A920021223F3320"), new StringBuilder()).toString());
+    }
 }
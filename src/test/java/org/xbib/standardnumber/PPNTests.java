@@ -20,4 +20,28 @@ public class PPNTests {
         assertEquals(ppn.normalizedValue(), "101115658X");
     }
 
+    @Test
+    public void testPack() {
+        assertEquals("641379617", PPN.unpack(PPN.pack("641379617"), new StringBuilder()).toString());
+        assertEquals("101115658X", PPN.unpack(PPN.pack("101115658X"), new StringBuilder()).toString());
+        // check digit 0 for a weighted sum that is a multiple of 11
+        assertEquals("10030", PPN.unpack(PPN.pack("10030"), new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testPackAll() {
+        String checks = "0123456789X";
+        for (int i = 0; i < 100000; i++) {
+            String digits = Integer.toString(i);
+            while (digits.length() < (i < 1000 ? 3 : 5)) {
+                digits = "0" + digits;
+            }
+            for (int c = 0; c < checks.length(); c++) {
+                String ppn = digits + checks.charAt(c);
+                if (PPN.isValid(ppn, 0, ppn.length())) {
+                    assertEquals(ppn, PPN.unpack(PPN.pack(ppn), new StringBuilder()).toString());
+                }
+            }
+        }
+    }
 }
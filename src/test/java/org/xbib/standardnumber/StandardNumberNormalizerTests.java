@@ -0,0 +1,45 @@
+package org.xbib.standardnumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class StandardNumberNormalizerTests {
+
+    @Test
+    public void testNormalize() {
+        StandardNumberNormalizer normalizer = StandardNumberNormalizer.DEFAULT;
+        assertEquals("9783551752130", normalizer.normalize("978-3-551-75213-0"));
+        assertEquals("9783551752130", normalizer.normalize("978\u20133\u2014551\u2212752\u00A013 0"));
+        assertEquals("9783551752130", normalizer.normalize("\uFF19\uFF17\uFF18\uFF13\uFF15\uFF15\uFF11\uFF17\uFF15\uFF12\uFF11\uFF13\uFF10"));
+        assertEquals("0729011X", normalizer.normalize("0729-011x"));
+        assertEquals("GB82WEST12345698765432", normalizer.normalize("GB82 \uFF37\uFF25\uFF33\uFF34 1234 5698 7654 32"));
+        assertEquals("10.1000/182", normalizer.normalize("10.1000/182"));
+        assertEquals("ISSN0S29011X", normalizer.normalize("ISSN 0S29-011X"));
+        assertNull(normalizer.normalize(null));
+    }
+
+    @Test
+    public void testOCR() {
+        assertEquals("05290110", StandardNumberNormalizer.OCR.normalize("OS29-0l1o"));
+        assertEquals("0729011X", StandardNumberNormalizer.OCR.normalize("O729-Oll x"));
+    }
+
+    @Test
+    public void testReuse() {
+        char[] buffer = new char[32];
+        int n = StandardNumberNormalizer.DEFAULT.normalize("ISBN 978-3-551-75213-0", 5, 22, buffer);
+        assertEquals("9783551752130", new String(buffer, 0, n));
+        n = StandardNumberNormalizer.DEFAULT.normalize("0729-011x", 0, 9, buffer);
+        assertEquals("0729011X", new String(buffer, 0, n));
+    }
+
+    @Test
+    public void testUnicodeHyphens() {
+        StandardNumber isbn = new ISBN().ean(true).set("978\u20103\u2010551\u201075213\u20100").normalize().verify();
+        assertEquals("9783551752130", isbn.normalizedValue());
+    }
+}
@@ -0,0 +1,73 @@
+package org.xbib.standardnumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class StandardNumberScannerTests {
+
+    private static final String TEXT = "See ISBN 978-3-551-75213-0, ISSN 0729-011X; ORCID 0000-0002-1825-0097, "
+            + "ISNI 0000 0001 2195 3271. Pay to DE89 3704 0044 0532 0130 00 in 2020. "
+            + "DOI https://doi.org/10.1016/0032-3861(93)90481-o. Call 030-1234-5678, EAN 4006381333932.";
+
+    private static final List<String> EXPECTED = Arrays.asList(
+            "isbn 9 9783551752130 true",
+            "issn 33 0729011X true",
+            "orcid 50 0000000218250097 true",
+            "isni 76 0000000121953271 true",
+            "iban 104 DE89370400440532013000 true",
+            "doi 161 10.1016/0032-3861(93)90481-o true",
+            "gtin 215 4006381333932 false");
+
+    @Test
+    public void testScanCharSequence() {
+        List<String> list = new ArrayList<>();
+        StandardNumberScanner.scan(TEXT, (type, offset, value, valid) ->
+                list.add(type + " " + offset + " " + value + " " + valid));
+        assertEquals(EXPECTED, list);
+    }
+
+    @Test
+    public void testScanReader() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(TEXT).append(' ');
+        }
+        List<String> list = new ArrayList<>();
+        StandardNumberScanner.scan(new StringReader(sb.toString()), (type, offset, value, valid) ->
+                list.add(type + " " + offset % (TEXT.length() + 1) + " " + value + " " + valid));
+        assertEquals(EXPECTED.size() * 1000, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(EXPECTED.get(i % EXPECTED.size()), list.get(i));
+        }
+    }
+
+    @Test
+    public void testScanByteBuffer() {
+        List<String> list = new ArrayList<>();
+        StandardNumberScanner.scan(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.UTF_8)), (type, offset, value, valid) ->
+                list.add(type + " " + offset + " " + value + " " + valid));
+        assertEquals(EXPECTED, list);
+    }
+
+    @Test
+    public void testLongRuns() {
+        StringBuilder sb = new StringBuilder("10.");
+        for (int i = 0; i < 1000; i++) {
+            sb.append((char) ('0' + i % 10));
+        }
+        sb.append("/abc ISSN 0729-011X");
+        List<String> list = new ArrayList<>();
+        StandardNumberScanner.scan(sb, (type, offset, value, valid) ->
+                list.add(type + " " + offset + " " + value + " " + valid));
+        assertEquals(Arrays.asList("issn 1013 0729011X true"), list);
+    }
+}
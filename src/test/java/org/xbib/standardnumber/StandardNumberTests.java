@@ -0,0 +1,49 @@
+package org.xbib.standardnumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class StandardNumberTests {
+
+    @Test
+    public void testRegistry() throws Exception {
+        for (String type : StandardNumber.getTypes()) {
+            StandardNumber standardNumber = StandardNumber.getInstance(type);
+            assertEquals(type, standardNumber.type());
+            assertEquals(type.toUpperCase(), standardNumber.getClass().getSimpleName());
+        }
+        assertTrue(StandardNumber.getTypes().contains("isbn"));
+        assertTrue(StandardNumber.getInstance("ISBN") instanceof ISBN);
+        assertTrue(StandardNumber.getInstance("Orcid") instanceof ORCID);
+    }
+
+    @Test
+    public void testNoSuchStandardNumber() {
+        Assertions.assertThrows(NoSuchStandardNumberException.class, () -> StandardNumber.getInstance("linux"));
+    }
+
+    @Test
+    public void testVerifyResult() throws Exception {
+        for (String type : StandardNumber.getTypes()) {
+            assertEquals(ValidationResult.MALFORMED, StandardNumber.getInstance(type).verifyResult());
+        }
+        assertEquals(ValidationResult.VALID, new ISSN().set("0378-5955").normalize().verifyResult());
+        assertEquals(ValidationResult.BAD_CHECKSUM, new ISSN().set("0378-5956").normalize().verifyResult());
+        InvalidStandardNumberException e = Assertions.assertThrows(InvalidStandardNumberException.class,
+                () -> new ISSN().set("0378-5956").normalize().verify());
+        assertEquals(ValidationResult.BAD_CHECKSUM, e.getResult());
+        assertEquals(0, e.getStackTrace().length);
+        e.addSuppressed(new IllegalStateException());
+        assertEquals(0, ValidationResult.BAD_CHECKSUM.exception().getSuppressed().length);
+        assertEquals(ValidationResult.BAD_CHECKSUM, new ISBN().set("3-9803350-5-5").normalize().verifyResult());
+        assertEquals(ValidationResult.BAD_CHECKSUM, new ISBN().ean(true).set("978-3-551-75213-1").normalize().verifyResult());
+        assertEquals(ValidationResult.BAD_LENGTH, new ISBN().set("978-3-551-7521").normalize().verifyResult());
+        assertEquals(ValidationResult.VALID, new ISBN().set("3-9803350-5-4").normalize().verifyResult());
+        Assertions.assertThrows(IllegalStateException.class, ValidationResult.VALID::exception);
+    }
+}
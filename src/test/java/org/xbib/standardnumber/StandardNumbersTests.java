@@ -0,0 +1,107 @@
+package org.xbib.standardnumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class StandardNumbersTests {
+
+    @Test
+    public void testValidate() throws Exception {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i % 3 == 0 ? "1869-7127" : i % 3 == 1 ? "1869-7128" : null);
+        }
+        String[] normalized = new String[list.size()];
+        BitSet valid = new BitSet();
+        valid.set(20000);
+        StandardNumbers.validate("issn", list, valid, normalized);
+        assertEquals(3334, valid.cardinality() - 1);
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i % 3 == 0, valid.get(i));
+            assertEquals(i % 3 == 0 ? "18697127" : null, normalized[i]);
+        }
+    }
+
+    @Test
+    public void testValidateArray() throws Exception {
+        CharSequence[] values = {"978-3-551-75213-0", "linux", "3-9803350-5-4"};
+        BitSet valid = StandardNumbers.validate("isbn", values, new BitSet(), null);
+        assertEquals("{0, 2}", valid.toString());
+    }
+
+    @Test
+    public void testNormalizeStream() throws Exception {
+        List<String> result = StandardNumbers.normalize("issn",
+                Arrays.asList("ISSN 0729-011X", "0729-011Y").parallelStream())
+                .collect(Collectors.toList());
+        assertEquals("0729011X", result.get(0));
+        assertNull(result.get(1));
+    }
+
+    @Test
+    public void testNoSuchStandardNumber() {
+        Assertions.assertThrows(NoSuchStandardNumberException.class, () ->
+                StandardNumbers.validate("linux", Arrays.asList("1"), new BitSet()));
+    }
+
+    @Test
+    public void testVerifyGTIN() {
+        Random random = new Random(42L);
+        for (int width : new int[] { 8, 12, 13, 14 }) {
+            int count = 1000;
+            byte[] codes = new byte[count * width];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = (byte) ('0' + random.nextInt(10));
+            }
+            codes[random.nextInt(codes.length)] = 'X';
+            codes[random.nextInt(codes.length)] = (byte) 0xb9;
+            BitSet valid = new BitSet();
+            valid.set(count);
+            StandardNumbers.verifyGTIN(codes, width, valid);
+            assertEquals(true, valid.get(count));
+            for (int i = 0; i < count; i++) {
+                String code = new String(codes, i * width, width, StandardCharsets.ISO_8859_1);
+                assertEquals(GTIN.isValid(code, 0, width), valid.get(i), code);
+            }
+        }
+        byte[] codes = "978355175213097835517521319783980335058".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(BitSet.valueOf(new long[] { 0b101 }), StandardNumbers.verifyGTIN(codes, 13, new BitSet()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> StandardNumbers.verifyGTIN(codes, 12, new BitSet()));
+    }
+
+    @Test
+    public void testDetect() {
+        assertEquals(Arrays.asList("isbn", "gtin", "ean"), StandardNumbers.detect("9783551752130"));
+        assertEquals(Arrays.asList("isbn", "gtin"), StandardNumbers.detect("978-3-551-75213-0"));
+        assertEquals(Arrays.asList("isbn"), StandardNumbers.detect("3-9803350-5-4"));
+        assertEquals(Arrays.asList("issn"), StandardNumbers.detect(" 0378-5955 "));
+        assertEquals(Arrays.asList("iban"), StandardNumbers.detect("GB82 WEST 1234 5698 7654 32"));
+        assertEquals(Arrays.asList("doi"), StandardNumbers.detect("10.1000/182"));
+        assertEquals(Arrays.asList("ark"), StandardNumbers.detect("ark:/13030/tf5p30086k"));
+        assertEquals(Arrays.asList("orcid", "isni"), StandardNumbers.detect("0000-0002-1825-0097"));
+        assertEquals(Arrays.asList("ismn", "isbn", "gtin"), StandardNumbers.detect("979-0-2600-0043-8"));
+        assertEquals(Arrays.asList("ismn"), StandardNumbers.detect("M-2306-7118-7"));
+        assertEquals(Arrays.asList("issn", "gtin", "ean"), StandardNumbers.detect("9771869712007"));
+        assertEquals(Arrays.asList("issn", "gtin", "ean"), StandardNumbers.detect("9770028083002"));
+        assertEquals(Arrays.asList("issn", "gtin", "ean"),
+                StandardNumbers.detect(ISSNValue.parse("0378-5955").toGTIN().toString()));
+        assertEquals(Arrays.asList(), StandardNumbers.detect("9770028083003"));
+        assertEquals(Arrays.asList(), StandardNumbers.detect("978-3-551-75213-1"));
+        assertEquals(Arrays.asList(), StandardNumbers.detect("hello, world"));
+        assertEquals(Arrays.asList(), StandardNumbers.detect(""));
+        assertEquals(Arrays.asList(), StandardNumbers.detect(null));
+    }
+}
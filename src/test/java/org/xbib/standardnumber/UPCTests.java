@@ -1,6 +1,7 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -23,4 +24,11 @@ public class UPCTests {
         assertEquals("036000291452", upc.normalizedValue());
         assertEquals("036000291452", upc.format());
     }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = "036000291452 036000291453".getBytes(StandardCharsets.UTF_8);
+        assertEquals(true, UPC.isValid(bytes, 0, 12));
+        assertEquals(false, UPC.isValid(bytes, 13, 12));
+    }
 }
@@ -1,6 +1,10 @@
 package org.xbib.standardnumber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -27,4 +31,28 @@ public class ZDBTests {
         assertEquals("1279762", zdb.normalizedValue());
         assertEquals("127976-2", zdb.format());
     }
+
+    @Test
+    public void testStaticIsValid() {
+        assertTrue(ZDB.isValid("127976-2", 0, 8));
+        assertTrue(ZDB.isValid("1279762", 0, 7));
+        assertFalse(ZDB.isValid("127976-3", 0, 8));
+    }
+
+    @Test
+    public void testPack() {
+        assertEquals("1279762", ZDB.unpack(ZDB.pack("127976-2"), new StringBuilder()).toString());
+        assertEquals("127", ZDB.unpack(ZDB.pack("127"), new StringBuilder()).toString());
+        Assertions.assertThrows(NumberFormatException.class, () -> ZDB.pack("127976-3"));
+    }
+
+    @Test
+    public void testSequence() {
+        byte[] out = new byte[8 * 100];
+        assertEquals(8 * 100, ZDB.sequence(999950, 100, 7, out, 0));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ZDB.isValid(new String(out, 8 * i, 8, StandardCharsets.US_ASCII), 0, 8));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ZDB.sequence(0, 1, 11, out, 0));
+    }
 }
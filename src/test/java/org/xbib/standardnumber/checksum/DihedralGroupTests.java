@@ -0,0 +1,43 @@
+package org.xbib.standardnumber.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class DihedralGroupTests {
+
+    @Test
+    public void testVerify() {
+        DihedralGroup verhoeff = new DihedralGroup();
+        assertEquals("3632", verhoeff.encode("632"));
+        assertTrue(verhoeff.verify("3632"));
+        assertFalse(verhoeff.verify("3623"));
+        assertFalse(verhoeff.verify("363a"));
+    }
+
+    @Test
+    public void testIncremental() {
+        int state = DihedralGroup.DATA_START;
+        state = DihedralGroup.update(state, "6", 0, 1);
+        state = DihedralGroup.update(state, "32".getBytes(StandardCharsets.US_ASCII), 0, 2);
+        assertEquals(3, DihedralGroup.checkDigit(state));
+        assertTrue(DihedralGroup.isValid(DihedralGroup.update(DihedralGroup.START, "3632", 0, 4)));
+    }
+
+    @Test
+    public void testBatch() {
+        byte[] codes = "36323623".getBytes(StandardCharsets.US_ASCII);
+        BitSet valid = DihedralGroup.verifyAll(codes, 4, new BitSet());
+        assertTrue(valid.get(0));
+        assertFalse(valid.get(1));
+        valid = DihedralGroup.verifyAll(new long[] {3632L, 3623L}, 4, new BitSet());
+        assertTrue(valid.get(0));
+        assertFalse(valid.get(1));
+    }
+}
@@ -0,0 +1,57 @@
+package org.xbib.standardnumber.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class LuhnMOD10Tests {
+
+    @Test
+    public void testVerify() {
+        LuhnMOD10 luhn = new LuhnMOD10();
+        assertTrue(luhn.verify("79927398713"));
+        assertFalse(luhn.verify("79927398710"));
+        assertFalse(luhn.verify("7992739871a"));
+        assertEquals("79927398713", luhn.encode("7992739871"));
+        assertTrue(luhn.verify(luhn.encode("799273987")));
+    }
+
+    @Test
+    public void testIncremental() {
+        int state = LuhnMOD10.START;
+        state = LuhnMOD10.update(state, "79927", 0, 5);
+        state = LuhnMOD10.update(state, "39871".getBytes(StandardCharsets.US_ASCII), 0, 5);
+        assertEquals(3, LuhnMOD10.checkDigit(state));
+        assertTrue(LuhnMOD10.isValid(LuhnMOD10.update(state, "3", 0, 1)));
+        assertEquals(-1, LuhnMOD10.update(state, "-", 0, 1));
+    }
+
+    @Test
+    public void testBatch() {
+        byte[] codes = "7992739871379927398710799273987x3".getBytes(StandardCharsets.US_ASCII);
+        BitSet valid = LuhnMOD10.verifyAll(codes, 11, new BitSet());
+        assertTrue(valid.get(0));
+        assertFalse(valid.get(1));
+        assertFalse(valid.get(2));
+        valid = LuhnMOD10.verifyAll(new long[] {79927398713L, 79927398710L, 9927398713L}, 11, new BitSet());
+        assertTrue(valid.get(0));
+        assertFalse(valid.get(1));
+        assertFalse(valid.get(2));
+    }
+
+    @Test
+    public void testRange() {
+        LuhnMOD10 luhn = new LuhnMOD10();
+        String text = "no. 79927398713;";
+        assertTrue(luhn.verify(text, 4, 15));
+        assertFalse(luhn.verify(text, 3, 15));
+        assertEquals(3, luhn.compute(text, 4, 14));
+        assertTrue(luhn.verify(text.getBytes(StandardCharsets.US_ASCII), 4, 11));
+    }
+}
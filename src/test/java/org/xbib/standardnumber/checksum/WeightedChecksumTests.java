@@ -0,0 +1,111 @@
+package org.xbib.standardnumber.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class WeightedChecksumTests {
+
+    private static final WeightedChecksum MOD11 = WeightedChecksum.builder()
+            .ascendingFromRight(2)
+            .modulus(11)
+            .complement(true)
+            .checkCharacters("0123456789X")
+            .ignoreCase(true)
+            .build();
+
+    @Test
+    public void testAscending() {
+        assertEquals("03785955", MOD11.encode("0378595"));
+        assertEquals("080442957X", MOD11.encode("080442957"));
+        assertTrue(MOD11.verify("080442957x"));
+        assertFalse(MOD11.verify("0804429570"));
+        assertTrue(MOD11.isValid("ISSN 03785955", 5, 13));
+        assertEquals(10, MOD11.getDigit("080442957X"));
+        Assertions.assertThrows(NumberFormatException.class, () -> MOD11.compute("08044295A"));
+    }
+
+    @Test
+    public void testRepeating() {
+        WeightedChecksum gtin = WeightedChecksum.builder()
+                .weightsFromRight(3, 1)
+                .modulus(10)
+                .complement(true)
+                .checkCharacters("0123456789")
+                .build();
+        assertTrue(gtin.verify("9783980335058"));
+        assertTrue(gtin.verify("4006381333931"));
+        assertFalse(gtin.verify("9783980335059"));
+        WeightedChecksum istc = WeightedChecksum.builder()
+                .alphabet("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+                .weights(11, 9, 3, 1)
+                .modulus(16)
+                .checkCharacters("0123456789ABCDEF")
+                .build();
+        assertEquals(istc.compute("0A9200800000A"), istc.checksum("ISTC 0A9200800000A", 5, 18));
+    }
+
+    @Test
+    public void testNumber() {
+        WeightedChecksum gtin = WeightedChecksum.builder()
+                .weightsFromRight(3, 1)
+                .modulus(10)
+                .complement(true)
+                .checkCharacters("0123456789")
+                .build();
+        WeightedChecksum sici = WeightedChecksum.builder()
+                .weights(1, 3)
+                .modulus(10)
+                .checkCharacters("0123456789")
+                .build();
+        Random random = new Random(42L);
+        for (int i = 0; i < 10000; i++) {
+            int length = 1 + random.nextInt(18);
+            long number = Math.floorMod(random.nextLong(), (long) Math.pow(10, length));
+            StringBuilder sb = new StringBuilder(Long.toString(number));
+            while (sb.length() < length) {
+                sb.insert(0, '0');
+            }
+            assertEquals(MOD11.checksum(sb, 0, length), MOD11.checksum(number, length));
+            assertEquals(gtin.checksum(sb, 0, length), gtin.checksum(number, length));
+            assertEquals(sici.checksum(sb, 0, length), sici.checksum(number, length));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MOD11.checksum(1000L, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MOD11.checksum(-1L, 3));
+    }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = "ISSN 03785955, 080442957X".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(MOD11.isValid(bytes, 5, 8));
+        assertTrue(MOD11.isValid(bytes, 15, 10));
+        assertFalse(MOD11.isValid(bytes, 4, 9));
+        assertEquals(5, MOD11.checksum(bytes, 5, 7));
+        assertEquals(-1, MOD11.checksum(bytes, 0, 7));
+    }
+
+    @Test
+    public void testSpecification() {
+        Assertions.assertThrows(IllegalStateException.class, () -> WeightedChecksum.builder().modulus(11).build());
+        Assertions.assertThrows(IllegalStateException.class, () -> WeightedChecksum.builder()
+                .weights(1, 3).modulus(11).checkCharacters("0123456789").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedChecksum.builder().modulus(1));
+    }
+
+    @Test
+    public void testSequence() {
+        byte[] out = new byte[8 * 30];
+        assertEquals(8 * 30, MOD11.sequence("03", 99970, 30, 5, out, 0));
+        for (int i = 0; i < 30; i++) {
+            assertTrue(MOD11.isValid(out, 8 * i, 8));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MOD11.sequence("0A", 0, 1, 5, out, 0));
+    }
+}
@@ -0,0 +1,84 @@
+package org.xbib.standardnumber.checksum.iso7064;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.xbib.standardnumber.checksum.Digit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class ISO7064Tests {
+
+    @Test
+    public void testPure() {
+        assertEquals("079X", ISO7064.MOD_11_2.encode("079"));
+        assertEquals("G123498654321H", ISO7064.MOD_37_2.encode("G123498654321"));
+        assertEquals("79444", ISO7064.MOD_97_10.encode("794"));
+        assertEquals("ISO793W", ISO7064.MOD_1271_36.encode("ISO79"));
+        assertTrue(ISO7064.MOD_11_2.verify("079X"));
+        assertFalse(ISO7064.MOD_11_2.verify("0790"));
+        assertTrue(ISO7064.MOD_97_10.verify("79444"));
+        assertFalse(ISO7064.MOD_97_10.verify("79445"));
+        assertEquals(44, ISO7064.MOD_97_10.getDigit("79444"));
+        assertTrue(ISO7064.MOD_661_26.verify(ISO7064.MOD_661_26.encode("ALPHABETA")));
+    }
+
+    @Test
+    public void testHybrid() {
+        assertEquals("07945", ISO7064.MOD_11_10.encode("0794"));
+        assertEquals("A12425GABC1234002M", ISO7064.MOD_37_36.encode("A12425GABC1234002"));
+        assertTrue(ISO7064.MOD_27_26.verify(ISO7064.MOD_27_26.encode("JEFWBMFBTY")));
+        assertFalse(ISO7064.MOD_37_36.verify("A12425GABC1234002N"));
+        assertFalse(ISO7064.MOD_37_36.verify("a12425gabc1234002m"));
+        Assertions.assertThrows(NumberFormatException.class, () -> ISO7064.MOD_11_10.compute("07A4"));
+    }
+
+    @Test
+    public void testRange() {
+        assertTrue(ISO7064.MOD_11_2.isValid("ISNI 079X", 5, 9));
+        assertEquals(10, ISO7064.MOD_11_2.checksum("ISNI 079X", 5, 8));
+        assertEquals(-1, ISO7064.MOD_11_2.checksum("ISNI 079X", 4, 8));
+    }
+
+    @Test
+    public void testCompatibility() {
+        MOD112 mod112 = new MOD112();
+        MOD9710 mod9710 = new MOD9710();
+        Random random = new Random(42L);
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int n = 3 + random.nextInt(20);
+            for (int j = 0; j < n; j++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            String digits = sb.toString();
+            assertEquals(mod112.compute(digits), ISO7064.MOD_11_2.compute(digits));
+            assertEquals(mod9710.verify(digits), ISO7064.MOD_97_10.verify(digits));
+        }
+    }
+
+    @Test
+    public void testDigitRanges() {
+        String text = "ISNI 000000012146438X, ISAN 0000-0000-D07A-0090-Q";
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        Digit[] digits = {new MOD112(), ISO7064.MOD_11_2};
+        for (Digit digit : digits) {
+            assertTrue(digit.verify(text, 5, 21));
+            assertTrue(digit.verify(bytes, 5, 16));
+            assertFalse(digit.verify(text, 4, 21));
+            assertEquals(10, digit.compute(text, 5, 20));
+            assertEquals(10, digit.compute(bytes, 5, 15));
+        }
+        assertEquals("000000012146438X", new MOD112().encode("000000012146438"));
+        String isan = "00000000D07A0090Q";
+        assertTrue(new MOD3736().verify(isan, 0, isan.length()));
+        assertTrue(new MOD3736().verify(isan.getBytes(StandardCharsets.US_ASCII), 0, isan.length()));
+        assertEquals(54, new MOD9710().compute("IBAN 79400", 5, 10));
+        assertTrue(new MOD9710().verify("x79444x".getBytes(StandardCharsets.US_ASCII), 1, 5));
+    }
+}
@@ -0,0 +1,104 @@
+package org.xbib.standardnumber.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xbib.standardnumber.DOI;
+import org.xbib.standardnumber.ISBN;
+
+/**
+ *
+ */
+public class StandardNumberFilterTests {
+
+    @Test
+    public void testISBN() {
+        StandardNumberFilter filter = StandardNumberFilter.create(ISBN::pack, 100, 0.01d);
+        assertTrue(filter.add("3-9803350-5-4"));
+        assertFalse(filter.add("9783980335058"));
+        assertTrue(filter.mightContain("978-3-9803350-5-8"));
+        assertFalse(filter.mightContain("linux"));
+        Assertions.assertThrows(NumberFormatException.class, () -> filter.add("978-3-551-75213-1"));
+    }
+
+    @Test
+    public void testDOI() {
+        StandardNumberFilter filter = StandardNumberFilter.create(StandardNumberFilter::hash, 100, 0.01d);
+        DOI doi = new DOI();
+        doi.set("doi:10.1000/182");
+        doi.normalize();
+        assertTrue(filter.add(doi));
+        assertTrue(filter.mightContain(doi.normalizedValue()));
+        assertFalse(filter.mightContain("10.1000/183"));
+    }
+
+    @Test
+    public void testFalsePositiveRate() throws Exception {
+        StandardNumberFilter filter = StandardNumberFilter.create(ISBN::pack, 100000, 0.01d);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (long i = offset; i < 100000; i += 4) {
+                    filter.addKey(9780000000000L + i * 10);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long i = 0; i < 100000; i++) {
+            assertTrue(filter.mightContainKey(9780000000000L + i * 10));
+        }
+        int falsePositives = 0;
+        for (long i = 0; i < 100000; i++) {
+            if (filter.mightContainKey(9790000000000L + i * 10)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testMergeAndWrite() throws Exception {
+        StandardNumberFilter filter1 = StandardNumberFilter.create(ISBN::pack, 1000, 0.001d);
+        StandardNumberFilter filter2 = StandardNumberFilter.create(ISBN::pack, 1000, 0.001d);
+        filter1.add("3-9803350-5-4");
+        filter2.add("978-3-551-75213-0");
+        assertFalse(filter1.mightContain("3551752133"));
+        filter1.merge(filter2);
+        assertTrue(filter1.mightContain("3551752133"));
+        assertTrue(filter1.mightContain("3980335054"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> filter1.merge(StandardNumberFilter.create(ISBN::pack, 10, 0.001d)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> StandardNumberFilter.create(ISBN::pack, 2000000000L, 0.001d));
+        ByteBuffer buffer = filter1.write(ByteBuffer.allocate(filter1.serializedSize()));
+        assertEquals(0, buffer.remaining());
+        buffer.flip();
+        StandardNumberFilter copy = StandardNumberFilter.read(buffer, ISBN::pack);
+        assertEquals(filter1.bitSize(), copy.bitSize());
+        assertTrue(copy.mightContain("3551752133"));
+        Path dir = Files.createTempDirectory("filter");
+        Path path = dir.resolve("isbn.filter");
+        try {
+            copy.write(path);
+            StandardNumberFilter read = StandardNumberFilter.read(path, ISBN::pack);
+            assertTrue(read.mightContain("3980335054"));
+            assertFalse(read.mightContain("9780306406157"));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(dir);
+        }
+    }
+}
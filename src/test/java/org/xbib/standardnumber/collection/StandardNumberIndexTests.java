@@ -0,0 +1,191 @@
+package org.xbib.standardnumber.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.EOFException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xbib.standardnumber.ISBN;
+import org.xbib.standardnumber.ISSN;
+
+/**
+ *
+ */
+public class StandardNumberIndexTests {
+
+    @Test
+    public void testISBN() throws Exception {
+        Path dir = Files.createTempDirectory("index");
+        Path path = dir.resolve("isbn.index");
+        try {
+            long size = StandardNumberIndex.builder(ISBN::pack)
+                    .payloads(true)
+                    .add("978-3-551-75213-0", 2L)
+                    .add("3-9803350-5-4", 1L)
+                    .add("9783980335058", 3L)
+                    .build(path);
+            assertEquals(2L, size);
+            StandardNumberIndex index = StandardNumberIndex.open(path, ISBN::pack);
+            assertTrue(index.hasPayloads());
+            assertEquals(2L, index.size());
+            assertEquals(1L, index.get("3980335054", -1L));
+            assertEquals(2L, index.get("3551752133", -1L));
+            assertEquals(-1L, index.get("978-3-551-75213-1", -1L));
+            assertEquals(-1L, index.get("9780306406157", -1L));
+            assertTrue(index.contains("978-3-9803350-5-8"));
+            assertFalse(index.contains("linux"));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        Path dir = Files.createTempDirectory("index");
+        Path path = dir.resolve("issn.index");
+        try {
+            StandardNumberIndex.Builder builder = StandardNumberIndex.builder(ISSN::pack);
+            assertEquals(2L, builder.addAll(Stream.of(new ISSN().set("0378-5955").normalize(),
+                    new ISSN().set("1869-7127").normalize(), new ISSN().set("1869-7128"))));
+            assertEquals(2L, builder.build(path));
+            StandardNumberIndex index = StandardNumberIndex.open(path, ISSN::pack);
+            assertFalse(index.hasPayloads());
+            assertTrue(index.contains("03785955"));
+            assertTrue(index.contains("1869-7127"));
+            assertFalse(index.contains("0729-011X"));
+            Assertions.assertThrows(IllegalStateException.class, () -> index.get("03785955", -1L));
+            Files.write(dir.resolve("broken.index"), new byte[32]);
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> StandardNumberIndex.open(dir.resolve("broken.index"), ISSN::pack));
+        } finally {
+            Files.deleteIfExists(dir.resolve("broken.index"));
+            Files.deleteIfExists(path);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testRuns() throws Exception {
+        Path dir = Files.createTempDirectory("index");
+        Path path = dir.resolve("packed.index");
+        try {
+            Random random = new Random(42L);
+            TreeMap<Long, Long> expected = new TreeMap<>();
+            StandardNumberIndex.Builder builder = StandardNumberIndex.builder(ISBN::pack)
+                    .payloads(true)
+                    .runSize(1000)
+                    .directory(dir);
+            for (int i = 0; i < 20000; i++) {
+                // skewed keys, with duplicates across runs
+                long key = random.nextBoolean() ? random.nextInt(5000) : 9780000000000L + random.nextInt(1 << 30);
+                long payload = random.nextInt(100);
+                builder.addPacked(key, payload);
+                expected.merge(key, payload, Math::min);
+            }
+            assertEquals(expected.size(), builder.build(path));
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(1L, files.count());
+            }
+            StandardNumberIndex index = StandardNumberIndex.open(path, ISBN::pack);
+            for (Long key : expected.keySet()) {
+                assertEquals((long) expected.get(key), index.getPacked(key, -1L));
+            }
+            for (int i = 0; i < 20000; i++) {
+                long key = random.nextBoolean() ? random.nextInt(10000) : 9780000000000L + random.nextInt(1 << 30);
+                assertEquals(expected.containsKey(key), index.containsPacked(key));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testFailedBuild() throws Exception {
+        Path dir = Files.createTempDirectory("index");
+        Path runs = Files.createDirectory(dir.resolve("runs"));
+        Path path = dir.resolve("failed.index");
+        try {
+            StandardNumberIndex.Builder builder = StandardNumberIndex.builder(ISBN::pack)
+                    .runSize(1000)
+                    .directory(runs);
+            for (long key = 0L; key < 5000L; key++) {
+                builder.addPacked(key, 0L);
+            }
+            // truncated runs make the merge fail while the index is written
+            try (Stream<Path> files = Files.list(runs)) {
+                for (Path run : (Iterable<Path>) files::iterator) {
+                    try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                        channel.truncate(channel.size() - Long.BYTES);
+                    }
+                }
+            }
+            Assertions.assertThrows(EOFException.class, () -> builder.build(path));
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(1L, files.count());
+            }
+            StandardNumberIndex.Builder retry = StandardNumberIndex.builder(ISBN::pack);
+            for (long key = 0L; key < 5000L; key++) {
+                retry.addPacked(key, 0L);
+            }
+            assertEquals(5000L, retry.build(path));
+            assertTrue(StandardNumberIndex.open(path, ISBN::pack).containsPacked(4999L));
+            Assertions.assertThrows(FileAlreadyExistsException.class,
+                    () -> StandardNumberIndex.builder(ISBN::pack).addPacked(1L, 0L).build(path));
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(2L, files.count());
+            }
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(runs);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testAbsentKeys() throws Exception {
+        Path dir = Files.createTempDirectory("index");
+        Path path = dir.resolve("skewed.index");
+        try {
+            Random random = new Random(7L);
+            TreeMap<Long, Long> expected = new TreeMap<>();
+            StandardNumberIndex.Builder builder = StandardNumberIndex.builder(ISBN::pack);
+            for (int i = 0; i < 1983; i++) {
+                // dense small keys and a sparse tail, so the interpolation overshoots
+                long key = i < 1900 ? 100L + 2L * i : 100000L + (long) i * i * i;
+                builder.addPacked(key, 0L);
+                expected.put(key, 0L);
+            }
+            assertEquals(expected.size(), builder.build(path));
+            StandardNumberIndex index = StandardNumberIndex.open(path, ISBN::pack);
+            long min = expected.firstKey();
+            long max = expected.lastKey();
+            assertFalse(index.containsPacked(0L));
+            assertFalse(index.containsPacked(min - 1L));
+            assertFalse(index.containsPacked(max + 1L));
+            assertFalse(index.containsPacked(Long.MAX_VALUE));
+            assertFalse(index.containsPacked(102202L));
+            for (Long key : expected.keySet()) {
+                assertTrue(index.containsPacked(key));
+                assertEquals(expected.containsKey(key + 1L), index.containsPacked(key + 1L));
+            }
+            for (int i = 0; i < 100000; i++) {
+                long key = min + (long) (random.nextDouble() * (max - min));
+                assertEquals(expected.containsKey(key), index.containsPacked(key));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.xbib.standardnumber.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xbib.standardnumber.GTIN;
+import org.xbib.standardnumber.ISBN;
+import org.xbib.standardnumber.ISSN;
+
+/**
+ *
+ */
+public class StandardNumberMapTests {
+
+    @Test
+    public void testISBN() {
+        StandardNumberMap map = StandardNumberMap.allocate(ISBN::pack, 10);
+        assertTrue(map.put("3-9803350-5-4", 1L));
+        assertTrue(map.put("978-3-551-75213-0", 2L));
+        assertFalse(map.put("9783980335058", 3L));
+        assertEquals(2L, map.size());
+        assertEquals(3L, map.get("3980335054", -1L));
+        assertEquals(2L, map.get("3551752133", -1L));
+        assertEquals(-1L, map.get("978-3-551-75213-1", -1L));
+        assertEquals(-1L, map.get("9780306406157", -1L));
+        assertTrue(map.containsKey("978-3-9803350-5-8"));
+        assertFalse(map.containsKey("linux"));
+        Assertions.assertThrows(NumberFormatException.class, () -> map.put("linux", 4L));
+    }
+
+    @Test
+    public void testBulkLoad() {
+        StandardNumberMap map = StandardNumberMap.allocate(GTIN::pack, 1000);
+        String[] values = new String[1000];
+        long[] v = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            String s = String.format("%012d", i * 7919L);
+            int checksum = 0;
+            for (int j = 0; j < s.length(); j++) {
+                checksum += (s.charAt(j) - '0') * (j % 2 == 0 ? 1 : 3);
+            }
+            values[i] = s + (10 - checksum % 10) % 10;
+            v[i] = i;
+        }
+        values[999] = "4012345678902";
+        assertEquals(999L, map.putAll(values, v));
+        for (int i = 0; i < 999; i++) {
+            assertEquals(i, map.get(values[i], -1L));
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            for (long i = 0; i < map.capacity(); i++) {
+                map.putPacked(1L << 50 | i, i);
+            }
+        });
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        Path dir = Files.createTempDirectory("map");
+        Path path = dir.resolve("issn.map");
+        try {
+            try (StandardNumberMap map = StandardNumberMap.create(path, ISSN::pack, 100)) {
+                map.put("0378-5955", 42L);
+                map.put("1869-7127", 43L);
+            }
+            try (StandardNumberMap map = StandardNumberMap.open(path, ISSN::pack)) {
+                assertEquals(2L, map.size());
+                assertEquals(42L, map.get("03785955", -1L));
+                assertEquals(43L, map.get("1869-7127", -1L));
+                assertEquals(-1L, map.get("0729-011X", -1L));
+                Assertions.assertThrows(RuntimeException.class, () -> map.put("0729-011X", 44L));
+            }
+            Files.write(dir.resolve("broken.map"), new byte[32]);
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> StandardNumberMap.open(dir.resolve("broken.map"), ISSN::pack));
+        } finally {
+            Files.deleteIfExists(dir.resolve("broken.map"));
+            Files.deleteIfExists(path);
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.xbib.standardnumber.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xbib.standardnumber.ISBN;
+
+/**
+ *
+ */
+public class StandardNumberSetTests {
+
+    @Test
+    public void testISBN() {
+        StandardNumberSet set = StandardNumberSet.create(ISBN::pack, 10);
+        assertTrue(set.addIfAbsent("3-9803350-5-4"));
+        assertFalse(set.addIfAbsent("9783980335058"));
+        assertTrue(set.contains("978-3-9803350-5-8"));
+        assertFalse(set.contains("linux"));
+        assertEquals(1L, set.size());
+        Assertions.assertThrows(NumberFormatException.class, () -> set.addIfAbsent("978-3-551-75213-1"));
+        set.clear();
+        assertEquals(0L, set.size());
+        assertFalse(set.contains("3980335054"));
+        assertTrue(set.addIfAbsent("3980335054"));
+    }
+
+    @Test
+    public void testConcurrentGrowth() throws Exception {
+        StandardNumberSet set = StandardNumberSet.create(ISBN::pack, 0);
+        int threads = 8;
+        int keys = 200000;
+        AtomicLong added = new AtomicLong();
+        List<Thread> list = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            list.add(new Thread(() -> {
+                // every thread adds every key, starting at a different position
+                for (int i = 0; i < keys; i++) {
+                    long key = 9780000000000L + (long) ((i + offset * keys / threads) % keys) * 10;
+                    if (set.addPackedIfAbsent(key)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : list) {
+            thread.start();
+        }
+        for (Thread thread : list) {
+            thread.join();
+        }
+        assertEquals(keys, added.get());
+        assertEquals(keys, set.size());
+        assertTrue(set.capacity() > keys);
+        for (int i = 0; i < keys; i++) {
+            assertTrue(set.containsPacked(9780000000000L + i * 10L));
+            assertFalse(set.containsPacked(9780000000001L + i * 10L));
+        }
+    }
+}